@@ -96,7 +96,7 @@ public class AlarmDaysStep extends Step<boolean[]> {
         }
 
         return thereIsAtLeastOneDaySelected
-                ? new IsDataValid(true)
+                ? IsDataValid.VALID
                 : new IsDataValid(false, getContext().getString(R.string.error_alarm_days_min_days));
     }
 
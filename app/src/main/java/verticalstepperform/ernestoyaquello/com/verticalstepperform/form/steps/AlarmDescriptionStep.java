@@ -86,6 +86,6 @@ public class AlarmDescriptionStep extends Step<String> {
 
     @Override
     protected IsDataValid isStepDataValid(String stepData) {
-        return new IsDataValid(true);
+        return IsDataValid.VALID;
     }
 }
\ No newline at end of file
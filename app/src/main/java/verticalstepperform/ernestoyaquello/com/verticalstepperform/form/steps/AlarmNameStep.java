@@ -8,8 +8,13 @@ import android.widget.TextView;
 
 import com.google.android.material.textfield.TextInputEditText;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 import androidx.annotation.NonNull;
 import ernestoyaquello.com.verticalstepperform.Step;
+import ernestoyaquello.com.verticalstepperform.StepDataCodec;
 import verticalstepperform.ernestoyaquello.com.verticalstepperform.R;
 
 public class AlarmNameStep extends Step<String> {
@@ -41,7 +46,7 @@ public class AlarmNameStep extends Step<String> {
 
             @Override
             public void onTextChanged(CharSequence s, int start, int before, int count) {
-                markAsCompletedOrUncompleted(true);
+                markAsCompletedOrUncompletedAsynchronously(true);
             }
 
             @Override
@@ -102,13 +107,33 @@ public class AlarmNameStep extends Step<String> {
         }
     }
 
+    @Override
+    protected StepDataCodec<String> getStepDataCodec() {
+        return new StepDataCodec<String>() {
+            @Override
+            public void write(String data, DataOutput output) throws IOException {
+                output.writeUTF(data != null ? data : "");
+            }
+
+            @Override
+            public String read(DataInput input) throws IOException {
+                return input.readUTF();
+            }
+        };
+    }
+
+    @Override
+    protected boolean isDataValidationMemoized() {
+        return true;
+    }
+
     @Override
     protected IsDataValid isStepDataValid(String stepData) {
         if (stepData.length() < MIN_CHARACTERS_ALARM_NAME) {
             String titleError = String.format(unformattedErrorString, MIN_CHARACTERS_ALARM_NAME);
             return new IsDataValid(false, titleError);
         } else {
-            return new IsDataValid(true);
+            return IsDataValid.VALID;
         }
     }
 }
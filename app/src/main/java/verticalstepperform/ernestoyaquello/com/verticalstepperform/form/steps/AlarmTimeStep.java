@@ -110,7 +110,7 @@ public class AlarmTimeStep extends Step<AlarmTimeStep.TimeHolder> {
 
     @Override
     protected IsDataValid isStepDataValid(TimeHolder stepData) {
-        return new IsDataValid(true);
+        return IsDataValid.VALID;
     }
 
     private void updatedAlarmTimeText() {
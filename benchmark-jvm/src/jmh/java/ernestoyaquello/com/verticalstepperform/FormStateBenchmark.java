@@ -0,0 +1,112 @@
+package ernestoyaquello.com.verticalstepperform;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the navigation rules and the completion tracking of the form, as implemented by
+ * FormState, without any view being involved.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FormStateBenchmark {
+
+    @Param({ "10", "100", "1000" })
+    public int numberOfSteps;
+
+    private FormState formState;
+    private int stepPosition;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        // All the steps are completed except the last one, which is the usual state of a form
+        // that is about to be completed
+        formState = new FormState(numberOfSteps, false);
+        formState.setListener(new NoOpListener());
+        for (int i = 0; i < numberOfSteps - 1; i++) {
+            formState.setStepCompleted(i, true);
+        }
+        formState.openStep(0);
+        stepPosition = 0;
+    }
+
+    @Benchmark
+    public int getNumberOfCompletedSteps() {
+        return formState.getNumberOfCompletedSteps();
+    }
+
+    @Benchmark
+    public void checkNavigationRules(Blackhole blackhole) {
+        stepPosition = (stepPosition + 1) % numberOfSteps;
+        blackhole.consume(formState.canGoToStep(stepPosition));
+        blackhole.consume(formState.areAllPreviousStepsCompleted(stepPosition));
+        blackhole.consume(formState.areAllStepsCompleted());
+    }
+
+    @Benchmark
+    public int goToNextStep() {
+        // The form goes through all its steps and then starts again from the first one
+        int nextStepPosition = formState.canGoToNextStep() ? formState.getOpenStepPosition() + 1 : 0;
+        formState.openStep(nextStepPosition);
+
+        return formState.getOpenStepPosition();
+    }
+
+    @Benchmark
+    public boolean toggleStepCompletion() {
+        stepPosition = (stepPosition + 1) % numberOfSteps;
+        boolean completed = !formState.isStepCompleted(stepPosition);
+        formState.setStepCompleted(stepPosition, completed);
+        formState.setStepError(stepPosition, !completed);
+
+        return formState.areAllStepsCompleted();
+    }
+
+    @Benchmark
+    public int insertAndRemoveStep() {
+        int position = numberOfSteps / 2;
+        formState.insertSteps(position, 1);
+        formState.removeSteps(position, position + 1);
+
+        return formState.getNumberOfSteps();
+    }
+
+    private static class NoOpListener implements FormState.Listener {
+
+        @Override
+        public void onOpenStepChanged(int previousOpenStepPosition, int openStepPosition) {
+            // No need to do anything here
+        }
+
+        @Override
+        public void onStepCompletionStateChanged(int stepPosition, boolean completed) {
+            // No need to do anything here
+        }
+
+        @Override
+        public void onStepErrorStateChanged(int stepPosition, boolean hasError) {
+            // No need to do anything here
+        }
+
+        @Override
+        public void onFormCompleted(boolean cancelled) {
+            // No need to do anything here
+        }
+
+        @Override
+        public void onFormCompletionOrCancellationAttemptCancelled() {
+            // No need to do anything here
+        }
+    }
+}
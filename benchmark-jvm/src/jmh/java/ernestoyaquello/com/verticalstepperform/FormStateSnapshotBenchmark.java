@@ -0,0 +1,92 @@
+package ernestoyaquello.com.verticalstepperform;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the encoding and decoding of the saved state of the form, both for steps whose data is
+ * written with a codec and for steps whose data is written with Java serialization.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class FormStateSnapshotBenchmark {
+
+    private static final StepDataCodec<String> TEXT_CODEC = new StepDataCodec<String>() {
+        @Override
+        public void write(String data, DataOutput output) throws IOException {
+            output.writeUTF(data);
+        }
+
+        @Override
+        public String read(DataInput input) throws IOException {
+            return input.readUTF();
+        }
+    };
+
+    @Param({ "10", "100", "1000" })
+    public int numberOfSteps;
+
+    @Param({ "true", "false" })
+    public boolean useCodecs;
+
+    private FormStateSnapshot snapshot;
+    private FormStateSnapshot.StepDataCodecs codecs;
+    private byte[] snapshotBytes;
+    private int changedStepPosition;
+
+    @Setup(Level.Iteration)
+    public void setUp() throws IOException {
+        codecs = position -> useCodecs ? TEXT_CODEC : null;
+        snapshot = new FormStateSnapshot(numberOfSteps);
+        for (int i = 0; i < numberOfSteps; i++) {
+            captureStepState(i, "Data of the step " + i);
+        }
+        snapshot.openStepPosition = 0;
+        snapshotBytes = snapshot.toByteArray(codecs);
+        changedStepPosition = 0;
+    }
+
+    @Benchmark
+    public byte[] encodeAfterStepChange() throws IOException {
+        // Only the data of the changed step needs to be encoded again
+        changedStepPosition = (changedStepPosition + 1) % numberOfSteps;
+        captureStepState(changedStepPosition, "New data of the step " + changedStepPosition);
+
+        return snapshot.toByteArray(codecs);
+    }
+
+    @Benchmark
+    public byte[] encodeFromScratch() throws IOException {
+        FormStateSnapshot newSnapshot = new FormStateSnapshot(numberOfSteps);
+        for (int i = 0; i < numberOfSteps; i++) {
+            newSnapshot.setStepState(i, true, false, true, snapshot.stepsData[i], null, null, null, null);
+        }
+
+        return newSnapshot.toByteArray(codecs);
+    }
+
+    @Benchmark
+    public FormStateSnapshot decode() throws IOException {
+        return FormStateSnapshot.fromByteArray(snapshotBytes, numberOfSteps, codecs);
+    }
+
+    private void captureStepState(int position, String data) {
+        // Every tenth step is in an error state, with an error message, to have a realistic mix
+        boolean hasError = position % 10 == 9;
+        String errorMessage = hasError ? "The data of the step is invalid" : null;
+        snapshot.setStepState(position, !hasError, hasError, true, data, null, null, null, errorMessage);
+    }
+}
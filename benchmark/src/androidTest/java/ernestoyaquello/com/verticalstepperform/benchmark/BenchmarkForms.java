@@ -0,0 +1,109 @@
+package ernestoyaquello.com.verticalstepperform.benchmark;
+
+import android.content.Context;
+import android.view.ContextThemeWrapper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import androidx.test.platform.app.InstrumentationRegistry;
+import ernestoyaquello.com.verticalstepperform.Builder;
+import ernestoyaquello.com.verticalstepperform.Step;
+import ernestoyaquello.com.verticalstepperform.VerticalStepperFormView;
+import ernestoyaquello.com.verticalstepperform.listener.StepperFormListener;
+
+/**
+ * Helper methods to set up the forms measured by the benchmarks.
+ */
+final class BenchmarkForms {
+
+    private BenchmarkForms() {
+    }
+
+    /**
+     * Runs the specified code on the main thread, which is the only one the form can be used from,
+     * waiting for it to finish.
+     *
+     * @param code The code to run.
+     */
+    static void runOnMainThread(Runnable code) {
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(code);
+    }
+
+    /**
+     * Creates a context with a theme the views of the form can be created with.
+     *
+     * @return The context.
+     */
+    static Context createContext() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        return new ContextThemeWrapper(context, com.google.android.material.R.style.Theme_MaterialComponents_Light);
+    }
+
+    /**
+     * Creates the specified number of steps.
+     *
+     * @param numberOfSteps The number of steps to create.
+     * @return The steps.
+     */
+    static List<Step<?>> createSteps(int numberOfSteps) {
+        List<Step<?>> steps = new ArrayList<>(numberOfSteps);
+        for (int i = 0; i < numberOfSteps; i++) {
+            steps.add(new BenchmarkStep("Step " + (i + 1)));
+        }
+
+        return steps;
+    }
+
+    /**
+     * Sets up a form with the specified number of steps, leaving it ready to be initialized.
+     * Must be called from the main thread.
+     *
+     * @param formView The form.
+     * @param numberOfSteps The number of steps of the form.
+     * @return The builder of the form.
+     */
+    static Builder setUpForm(VerticalStepperFormView formView, int numberOfSteps) {
+        return formView
+                .setup(new NoOpFormListener(), createSteps(numberOfSteps))
+                .allowNonLinearNavigation(true);
+    }
+
+    /**
+     * Creates and initializes a form with the specified number of steps.
+     * Must be called from the main thread.
+     *
+     * @param context The context of the form.
+     * @param numberOfSteps The number of steps of the form.
+     * @return The form.
+     */
+    static VerticalStepperFormView createForm(Context context, int numberOfSteps) {
+        VerticalStepperFormView formView = new VerticalStepperFormView(context);
+        setUpForm(formView, numberOfSteps).init();
+
+        return formView;
+    }
+
+    private static class NoOpFormListener implements StepperFormListener {
+
+        @Override
+        public void onCompletedForm() {
+            // No need to do anything here
+        }
+
+        @Override
+        public void onCancelledForm() {
+            // No need to do anything here
+        }
+
+        @Override
+        public void onStepAdded(int index, Step<?> addedStep) {
+            // No need to do anything here
+        }
+
+        @Override
+        public void onStepRemoved(int index) {
+            // No need to do anything here
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package ernestoyaquello.com.verticalstepperform.benchmark;
+
+import android.text.Editable;
+import android.text.TextWatcher;
+import android.view.View;
+import android.widget.EditText;
+
+import ernestoyaquello.com.verticalstepperform.Step;
+
+/**
+ * Simple text step used by the benchmarks. Its data is valid when it has at least three
+ * characters, and it is marked as completed or uncompleted every time its text changes.
+ */
+public class BenchmarkStep extends Step<String> {
+
+    static final String VALID_DATA = "Valid data";
+    static final String INVALID_DATA = "No";
+
+    private EditText editText;
+
+    public BenchmarkStep(String title) {
+        super(title);
+    }
+
+    /**
+     * Changes the text of the step as if the user had typed it.
+     *
+     * @param text The new text of the step.
+     */
+    public void setText(String text) {
+        editText.setText(text);
+    }
+
+    @Override
+    protected View createStepContentLayout() {
+        editText = new EditText(getContext());
+        editText.setSingleLine(true);
+        editText.setText(VALID_DATA);
+        editText.addTextChangedListener(new TextWatcher() {
+            @Override
+            public void beforeTextChanged(CharSequence s, int start, int count, int after) {
+                // No need to do anything here
+            }
+
+            @Override
+            public void onTextChanged(CharSequence s, int start, int before, int count) {
+                markAsCompletedOrUncompleted(true);
+            }
+
+            @Override
+            public void afterTextChanged(Editable s) {
+                // No need to do anything here
+            }
+        });
+
+        return editText;
+    }
+
+    @Override
+    public String getStepData() {
+        Editable text = editText.getText();
+        return text != null ? text.toString() : "";
+    }
+
+    @Override
+    public String getStepDataAsHumanReadableString() {
+        return getStepData();
+    }
+
+    @Override
+    protected void restoreStepData(String data) {
+        if (editText != null) {
+            editText.setText(data);
+        }
+    }
+
+    @Override
+    protected IsDataValid isStepDataValid(String stepData) {
+        return stepData.length() >= 3
+                ? IsDataValid.VALID
+                : new IsDataValid(false, "The text must have at least 3 characters");
+    }
+
+    @Override
+    protected void onStepOpened(boolean animated) {
+        // No need to do anything here
+    }
+
+    @Override
+    protected void onStepClosed(boolean animated) {
+        // No need to do anything here
+    }
+
+    @Override
+    protected void onStepMarkedAsCompleted(boolean animated) {
+        // No need to do anything here
+    }
+
+    @Override
+    protected void onStepMarkedAsUncompleted(boolean animated) {
+        // No need to do anything here
+    }
+}
@@ -0,0 +1,64 @@
+package ernestoyaquello.com.verticalstepperform.benchmark;
+
+import android.content.Context;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.Arrays;
+import java.util.List;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import ernestoyaquello.com.verticalstepperform.Builder;
+import ernestoyaquello.com.verticalstepperform.VerticalStepperFormView;
+
+/**
+ * Measures the initialization of forms of different sizes via Builder.init().
+ */
+@RunWith(Parameterized.class)
+public class FormInitializationBenchmark {
+
+    @Parameterized.Parameters(name = "numberOfSteps={0}")
+    public static List<Object[]> parameters() {
+        return Arrays.asList(new Object[][] { { 10 }, { 100 }, { 1000 } });
+    }
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    private final int numberOfSteps;
+
+    public FormInitializationBenchmark(int numberOfSteps) {
+        this.numberOfSteps = numberOfSteps;
+    }
+
+    @Test
+    public void init() {
+        measureInitialization(false);
+    }
+
+    @Test
+    public void initWithVirtualizedStepViews() {
+        measureInitialization(true);
+    }
+
+    private void measureInitialization(boolean virtualizeStepViews) {
+        final BenchmarkState state = benchmarkRule.getState();
+        final Context context = BenchmarkForms.createContext();
+
+        BenchmarkForms.runOnMainThread(() -> {
+            while (state.keepRunning()) {
+                state.pauseTiming();
+                VerticalStepperFormView formView = new VerticalStepperFormView(context);
+                Builder builder = BenchmarkForms.setUpForm(formView, numberOfSteps)
+                        .virtualizeStepViews(virtualizeStepViews);
+                state.resumeTiming();
+
+                builder.init();
+            }
+        });
+    }
+}
@@ -0,0 +1,57 @@
+package ernestoyaquello.com.verticalstepperform.benchmark;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import ernestoyaquello.com.verticalstepperform.VerticalStepperFormView;
+
+/**
+ * Measures the navigation between the steps of a form.
+ */
+@RunWith(AndroidJUnit4.class)
+public class FormNavigationBenchmark {
+
+    private static final int NUMBER_OF_STEPS = 10;
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    private VerticalStepperFormView formView;
+
+    @Before
+    public void setUp() {
+        BenchmarkForms.runOnMainThread(() ->
+                formView = BenchmarkForms.createForm(BenchmarkForms.createContext(), NUMBER_OF_STEPS));
+    }
+
+    @Test
+    public void goToStep() {
+        final BenchmarkState state = benchmarkRule.getState();
+
+        BenchmarkForms.runOnMainThread(() -> {
+            int stepPosition = 0;
+            while (state.keepRunning()) {
+                stepPosition = (stepPosition + NUMBER_OF_STEPS / 2) % NUMBER_OF_STEPS;
+                formView.goToStep(stepPosition, true);
+            }
+        });
+    }
+
+    @Test
+    public void goToNextStepAndBack() {
+        final BenchmarkState state = benchmarkRule.getState();
+
+        BenchmarkForms.runOnMainThread(() -> {
+            formView.goToStep(0, false);
+            while (state.keepRunning()) {
+                formView.goToNextStep(true);
+                formView.goToPreviousStep(true);
+            }
+        });
+    }
+}
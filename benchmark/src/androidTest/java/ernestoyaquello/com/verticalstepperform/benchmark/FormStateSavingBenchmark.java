@@ -0,0 +1,56 @@
+package ernestoyaquello.com.verticalstepperform.benchmark;
+
+import android.os.Parcelable;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import ernestoyaquello.com.verticalstepperform.VerticalStepperFormView;
+
+/**
+ * Measures the saving and restoration of the state of a form.
+ */
+@RunWith(AndroidJUnit4.class)
+public class FormStateSavingBenchmark {
+
+    private static final int NUMBER_OF_STEPS = 100;
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    private VerticalStepperFormView formView;
+
+    @Before
+    public void setUp() {
+        BenchmarkForms.runOnMainThread(() ->
+                formView = BenchmarkForms.createForm(BenchmarkForms.createContext(), NUMBER_OF_STEPS));
+    }
+
+    @Test
+    public void onSaveInstanceState() {
+        final BenchmarkState state = benchmarkRule.getState();
+
+        BenchmarkForms.runOnMainThread(() -> {
+            while (state.keepRunning()) {
+                formView.onSaveInstanceState();
+            }
+        });
+    }
+
+    @Test
+    public void onRestoreInstanceState() {
+        final BenchmarkState state = benchmarkRule.getState();
+
+        BenchmarkForms.runOnMainThread(() -> {
+            Parcelable savedState = formView.onSaveInstanceState();
+            while (state.keepRunning()) {
+                formView.onRestoreInstanceState(savedState);
+            }
+        });
+    }
+}
@@ -0,0 +1,66 @@
+package ernestoyaquello.com.verticalstepperform.benchmark;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import ernestoyaquello.com.verticalstepperform.VerticalStepperFormView;
+
+/**
+ * Measures the dynamic addition and removal of steps to and from a form.
+ */
+@RunWith(AndroidJUnit4.class)
+public class StepAdditionAndRemovalBenchmark {
+
+    private static final int NUMBER_OF_STEPS = 10;
+    private static final int POSITION = NUMBER_OF_STEPS / 2;
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    private VerticalStepperFormView formView;
+
+    @Before
+    public void setUp() {
+        BenchmarkForms.runOnMainThread(() ->
+                formView = BenchmarkForms.createForm(BenchmarkForms.createContext(), NUMBER_OF_STEPS));
+    }
+
+    @Test
+    public void addStep() {
+        final BenchmarkState state = benchmarkRule.getState();
+
+        BenchmarkForms.runOnMainThread(() -> {
+            while (state.keepRunning()) {
+                state.pauseTiming();
+                BenchmarkStep step = new BenchmarkStep("Added step");
+                state.resumeTiming();
+
+                formView.addStep(POSITION, step);
+
+                state.pauseTiming();
+                formView.removeStep(POSITION);
+                state.resumeTiming();
+            }
+        });
+    }
+
+    @Test
+    public void removeStep() {
+        final BenchmarkState state = benchmarkRule.getState();
+
+        BenchmarkForms.runOnMainThread(() -> {
+            while (state.keepRunning()) {
+                state.pauseTiming();
+                formView.addStep(POSITION, new BenchmarkStep("Added step"));
+                state.resumeTiming();
+
+                formView.removeStep(POSITION);
+            }
+        });
+    }
+}
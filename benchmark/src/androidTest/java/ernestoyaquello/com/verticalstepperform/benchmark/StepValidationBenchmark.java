@@ -0,0 +1,67 @@
+package ernestoyaquello.com.verticalstepperform.benchmark;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import ernestoyaquello.com.verticalstepperform.VerticalStepperFormView;
+
+/**
+ * Measures how long it takes to mark a step as completed or uncompleted as the user types in it.
+ */
+@RunWith(AndroidJUnit4.class)
+public class StepValidationBenchmark {
+
+    private static final int NUMBER_OF_STEPS = 10;
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    private VerticalStepperFormView formView;
+    private BenchmarkStep openStep;
+
+    @Before
+    public void setUp() {
+        BenchmarkForms.runOnMainThread(() -> {
+            formView = BenchmarkForms.createForm(BenchmarkForms.createContext(), NUMBER_OF_STEPS);
+            openStep = (BenchmarkStep) formView.getOpenStep();
+        });
+    }
+
+    @Test
+    public void typeValidText() {
+        final BenchmarkState state = benchmarkRule.getState();
+
+        BenchmarkForms.runOnMainThread(() -> {
+            int length = 3;
+            StringBuilder text = new StringBuilder();
+            while (state.keepRunning()) {
+                // The text grows one character at a time, as if typed, and it is always valid
+                length = length < 50 ? length + 1 : 3;
+                text.setLength(0);
+                for (int i = 0; i < length; i++) {
+                    text.append('a');
+                }
+                openStep.setText(text.toString());
+            }
+        });
+    }
+
+    @Test
+    public void toggleBetweenValidAndInvalidText() {
+        final BenchmarkState state = benchmarkRule.getState();
+
+        BenchmarkForms.runOnMainThread(() -> {
+            boolean valid = false;
+            while (state.keepRunning()) {
+                // Every change updates the completion state and the error message of the step
+                valid = !valid;
+                openStep.setText(valid ? BenchmarkStep.VALID_DATA : BenchmarkStep.INVALID_DATA);
+            }
+        });
+    }
+}
@@ -0,0 +1,54 @@
+package ernestoyaquello.com.verticalstepperform.macrobenchmark;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Collections;
+
+import androidx.benchmark.macro.CompilationMode;
+import androidx.benchmark.macro.FrameTimingMetric;
+import androidx.benchmark.macro.StartupMode;
+import androidx.benchmark.macro.junit4.MacrobenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.uiautomator.Direction;
+import androidx.test.uiautomator.UiObject2;
+import kotlin.Unit;
+
+/**
+ * Measures the frame timing of the form of the sample app while it is scrolled.
+ */
+@RunWith(AndroidJUnit4.class)
+public class NewAlarmFormScrollBenchmark {
+
+    private static final int ITERATIONS = 10;
+
+    @Rule
+    public MacrobenchmarkRule benchmarkRule = new MacrobenchmarkRule();
+
+    @Test
+    public void scroll() {
+        benchmarkRule.measureRepeated(
+                SampleApp.PACKAGE_NAME,
+                Collections.singletonList(new FrameTimingMetric()),
+                CompilationMode.DEFAULT,
+                StartupMode.WARM,
+                ITERATIONS,
+                scope -> {
+                    scope.startActivityAndWait();
+                    SampleApp.openNewAlarmForm(scope);
+                    return Unit.INSTANCE;
+                },
+                scope -> {
+                    UiObject2 scrollView = SampleApp.findFormScrollView(scope);
+
+                    // The gesture margin prevents the scroll from triggering the system navigation
+                    scrollView.setGestureMargin(scope.getDevice().getDisplayWidth() / 5);
+                    scrollView.fling(Direction.DOWN);
+                    scope.getDevice().waitForIdle();
+                    scrollView.fling(Direction.UP);
+                    scope.getDevice().waitForIdle();
+                    return Unit.INSTANCE;
+                });
+    }
+}
@@ -0,0 +1,45 @@
+package ernestoyaquello.com.verticalstepperform.macrobenchmark;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Collections;
+
+import androidx.benchmark.macro.CompilationMode;
+import androidx.benchmark.macro.StartupMode;
+import androidx.benchmark.macro.StartupTimingMetric;
+import androidx.benchmark.macro.junit4.MacrobenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import kotlin.Unit;
+
+/**
+ * Measures the cold start of the sample app up to the moment its form is displayed.
+ */
+@RunWith(AndroidJUnit4.class)
+public class NewAlarmFormStartupBenchmark {
+
+    private static final int ITERATIONS = 10;
+
+    @Rule
+    public MacrobenchmarkRule benchmarkRule = new MacrobenchmarkRule();
+
+    @Test
+    public void coldStart() {
+        benchmarkRule.measureRepeated(
+                SampleApp.PACKAGE_NAME,
+                Collections.singletonList(new StartupTimingMetric()),
+                CompilationMode.DEFAULT,
+                StartupMode.COLD,
+                ITERATIONS,
+                scope -> {
+                    scope.pressHome();
+                    return Unit.INSTANCE;
+                },
+                scope -> {
+                    scope.startActivityAndWait();
+                    SampleApp.openNewAlarmForm(scope);
+                    return Unit.INSTANCE;
+                });
+    }
+}
@@ -0,0 +1,44 @@
+package ernestoyaquello.com.verticalstepperform.macrobenchmark;
+
+import androidx.benchmark.macro.MacrobenchmarkScope;
+import androidx.test.uiautomator.By;
+import androidx.test.uiautomator.UiDevice;
+import androidx.test.uiautomator.UiObject2;
+import androidx.test.uiautomator.Until;
+
+/**
+ * Helper methods to interact with the sample app from the macrobenchmarks.
+ */
+final class SampleApp {
+
+    static final String PACKAGE_NAME = "verticalstepperform.ernestoyaquello.com.verticalstepperform";
+
+    private static final long TIMEOUT_MILLIS = 5000;
+
+    private SampleApp() {
+    }
+
+    /**
+     * Opens the form of the sample app (i.e., NewAlarmFormFragment) from its landing screen,
+     * waiting for the form to be displayed.
+     *
+     * @param scope The scope of the macrobenchmark.
+     */
+    static void openNewAlarmForm(MacrobenchmarkScope scope) {
+        UiDevice device = scope.getDevice();
+        device.wait(Until.hasObject(By.res(PACKAGE_NAME, "fab")), TIMEOUT_MILLIS);
+        device.findObject(By.res(PACKAGE_NAME, "fab")).click();
+        device.wait(Until.hasObject(By.res(PACKAGE_NAME, "stepper_form")), TIMEOUT_MILLIS);
+        device.waitForIdle();
+    }
+
+    /**
+     * Finds the scrolling container of the form.
+     *
+     * @param scope The scope of the macrobenchmark.
+     * @return The scrolling container of the form.
+     */
+    static UiObject2 findFormScrollView(MacrobenchmarkScope scope) {
+        return scope.getDevice().findObject(By.res(PACKAGE_NAME, "steps_scroll"));
+    }
+}
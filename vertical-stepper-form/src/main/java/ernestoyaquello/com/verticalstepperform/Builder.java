@@ -2,6 +2,9 @@ package ernestoyaquello.com.verticalstepperform;
 
 import android.graphics.Typeface;
 
+import java.io.File;
+
+import ernestoyaquello.com.verticalstepperform.listener.FormMetricsListener;
 import ernestoyaquello.com.verticalstepperform.listener.StepperFormListener;
 
 /**
@@ -12,6 +15,7 @@ public class Builder {
     private VerticalStepperFormView formView;
     private StepperFormListener listener;
     private StepHelper[] steps;
+    private FormStyle.Builder styleBuilder;
 
     Builder(VerticalStepperFormView formView, StepperFormListener listener, Step<?>[] steps) {
         this.formView = formView;
@@ -31,7 +35,7 @@ public class Builder {
      * @return The builder instance.
      */
     public Builder stepNextButtonText(String stepNextButtonText) {
-        formView.style.stepNextButtonText = stepNextButtonText;
+        getStyle().stepNextButtonText = stepNextButtonText;
 
         return this;
     }
@@ -43,7 +47,7 @@ public class Builder {
      * @return The builder instance.
      */
     public Builder lastStepNextButtonText(String lastStepNextButtonText) {
-        formView.style.lastStepNextButtonText = lastStepNextButtonText;
+        getStyle().lastStepNextButtonText = lastStepNextButtonText;
 
         return this;
     }
@@ -56,7 +60,7 @@ public class Builder {
      * @return The builder instance.
      */
     public Builder lastStepCancelButtonText(String lastStepCancelButtonText) {
-        formView.style.lastStepCancelButtonText = lastStepCancelButtonText;
+        getStyle().lastStepCancelButtonText = lastStepCancelButtonText;
 
         return this;
     }
@@ -68,7 +72,7 @@ public class Builder {
      * @return The builder instance.
      */
     public Builder confirmationStepTitle(String confirmationStepTitle) {
-        formView.style.confirmationStepTitle = confirmationStepTitle;
+        getStyle().confirmationStepTitle = confirmationStepTitle;
 
         return this;
     }
@@ -81,7 +85,7 @@ public class Builder {
      * @return The builder instance.
      */
     public Builder confirmationStepSubtitle(String confirmationStepSubtitle) {
-        formView.style.confirmationStepSubtitle = confirmationStepSubtitle;
+        getStyle().confirmationStepSubtitle = confirmationStepSubtitle;
 
         return this;
     }
@@ -103,14 +107,14 @@ public class Builder {
             int primaryColorDark,
             int textColorOfElementsDisplayedOverThePrimaryColor) {
 
-        formView.style.stepNumberBackgroundColor = primaryColor;
-        formView.style.stepNumberCompletedBackgroundColor = primaryColor;
-        formView.style.stepNumberErrorBackgroundColor = primaryColor;
-        formView.style.stepNumberTextColor = textColorOfElementsDisplayedOverThePrimaryColor;
-        formView.style.nextButtonBackgroundColor = primaryColor;
-        formView.style.nextButtonTextColor = textColorOfElementsDisplayedOverThePrimaryColor;
-        formView.style.nextButtonPressedBackgroundColor = primaryColorDark;
-        formView.style.nextButtonPressedTextColor = textColorOfElementsDisplayedOverThePrimaryColor;
+        getStyle().stepNumberBackgroundColor = primaryColor;
+        getStyle().stepNumberCompletedBackgroundColor = primaryColor;
+        getStyle().stepNumberErrorBackgroundColor = primaryColor;
+        getStyle().stepNumberTextColor = textColorOfElementsDisplayedOverThePrimaryColor;
+        getStyle().nextButtonBackgroundColor = primaryColor;
+        getStyle().nextButtonTextColor = textColorOfElementsDisplayedOverThePrimaryColor;
+        getStyle().nextButtonPressedBackgroundColor = primaryColorDark;
+        getStyle().nextButtonPressedTextColor = textColorOfElementsDisplayedOverThePrimaryColor;
 
         return this;
     }
@@ -123,10 +127,10 @@ public class Builder {
      * @return The builder instance.
      */
     public Builder stepNumberColors(int stepNumberBackgroundColor, int stepNumberTextColor) {
-        formView.style.stepNumberBackgroundColor = stepNumberBackgroundColor;
-        formView.style.stepNumberCompletedBackgroundColor = stepNumberBackgroundColor;
-        formView.style.stepNumberErrorBackgroundColor = stepNumberBackgroundColor;
-        formView.style.stepNumberTextColor = stepNumberTextColor;
+        getStyle().stepNumberBackgroundColor = stepNumberBackgroundColor;
+        getStyle().stepNumberCompletedBackgroundColor = stepNumberBackgroundColor;
+        getStyle().stepNumberErrorBackgroundColor = stepNumberBackgroundColor;
+        getStyle().stepNumberTextColor = stepNumberTextColor;
 
         return this;
     }
@@ -140,7 +144,7 @@ public class Builder {
      * @return The builder instance.
      */
     public Builder stepNumberCompletedBackgroundColor(int stepNumberCompletedBackgroundColor) {
-        formView.style.stepNumberCompletedBackgroundColor = stepNumberCompletedBackgroundColor;
+        getStyle().stepNumberCompletedBackgroundColor = stepNumberCompletedBackgroundColor;
 
         return this;
     }
@@ -154,7 +158,7 @@ public class Builder {
      * @return The builder instance.
      */
     public Builder stepNumberErrorBackgroundColor(int stepNumberErrorBackgroundColor) {
-        formView.style.stepNumberErrorBackgroundColor = stepNumberErrorBackgroundColor;
+        getStyle().stepNumberErrorBackgroundColor = stepNumberErrorBackgroundColor;
 
         return this;
     }
@@ -175,10 +179,10 @@ public class Builder {
             int nextButtonTextColor,
             int nextButtonPressedTextColor) {
 
-        formView.style.nextButtonBackgroundColor = nextButtonBackgroundColor;
-        formView.style.nextButtonPressedBackgroundColor = nextButtonPressedBackgroundColor;
-        formView.style.nextButtonTextColor = nextButtonTextColor;
-        formView.style.nextButtonPressedTextColor = nextButtonPressedTextColor;
+        getStyle().nextButtonBackgroundColor = nextButtonBackgroundColor;
+        getStyle().nextButtonPressedBackgroundColor = nextButtonPressedBackgroundColor;
+        getStyle().nextButtonTextColor = nextButtonTextColor;
+        getStyle().nextButtonPressedTextColor = nextButtonPressedTextColor;
 
         return this;
     }
@@ -200,10 +204,10 @@ public class Builder {
             int lastStepCancelButtonTextColor,
             int lastStepCancelButtonPressedTextColor) {
 
-        formView.style.lastStepCancelButtonBackgroundColor = lastStepCancelButtonBackgroundColor;
-        formView.style.lastStepCancelButtonPressedBackgroundColor = lastStepCancelButtonPressedBackgroundColor;
-        formView.style.lastStepCancelButtonTextColor = lastStepCancelButtonTextColor;
-        formView.style.lastStepCancelButtonPressedTextColor = lastStepCancelButtonPressedTextColor;
+        getStyle().lastStepCancelButtonBackgroundColor = lastStepCancelButtonBackgroundColor;
+        getStyle().lastStepCancelButtonPressedBackgroundColor = lastStepCancelButtonPressedBackgroundColor;
+        getStyle().lastStepCancelButtonTextColor = lastStepCancelButtonTextColor;
+        getStyle().lastStepCancelButtonPressedTextColor = lastStepCancelButtonPressedTextColor;
 
         return this;
     }
@@ -215,7 +219,7 @@ public class Builder {
      * @return This builder instance.
      */
     public Builder stepSubtitleTextColor(int stepSubtitleTextColor) {
-        formView.style.stepSubtitleTextColor = stepSubtitleTextColor;
+        getStyle().stepSubtitleTextColor = stepSubtitleTextColor;
 
         return this;
     }
@@ -227,7 +231,7 @@ public class Builder {
      * @return The builder instance.
      */
     public Builder errorMessageTextColor(int errorMessageTextColor) {
-        formView.style.errorMessageTextColor = errorMessageTextColor;
+        getStyle().errorMessageTextColor = errorMessageTextColor;
 
         return this;
     }
@@ -239,7 +243,7 @@ public class Builder {
      * @return The builder instance.
      */
     public Builder leftCircleSizeInPx(int leftCircleSizeInPx) {
-        formView.style.leftCircleSizeInPx = leftCircleSizeInPx;
+        getStyle().leftCircleSizeInPx = leftCircleSizeInPx;
 
         return this;
     }
@@ -252,7 +256,7 @@ public class Builder {
      * @return The builder instance.
      */
     public Builder leftCircleTextSizeInPx(int leftCircleTextSizeInPx) {
-        formView.style.leftCircleTextSizeInPx = leftCircleTextSizeInPx;
+        getStyle().leftCircleTextSizeInPx = leftCircleTextSizeInPx;
 
         return this;
     }
@@ -264,7 +268,7 @@ public class Builder {
      * @return The builder instance.
      */
     public Builder stepTitleTextSizeInPx(int stepTitleTextSizeInPx) {
-        formView.style.stepTitleTextSizeInPx = stepTitleTextSizeInPx;
+        getStyle().stepTitleTextSizeInPx = stepTitleTextSizeInPx;
 
         return this;
     }
@@ -276,7 +280,7 @@ public class Builder {
      * @return The builder instance.
      */
     public Builder stepSubtitleTextSizeInPx(int stepSubtitleTextSizeInPx) {
-        formView.style.stepSubtitleTextSizeInPx = stepSubtitleTextSizeInPx;
+        getStyle().stepSubtitleTextSizeInPx = stepSubtitleTextSizeInPx;
 
         return this;
     }
@@ -288,7 +292,7 @@ public class Builder {
      * @return The builder instance.
      */
     public Builder stepErrorMessageTextSizeInPx(int stepErrorMessageTextSizeInPx) {
-        formView.style.stepErrorMessageTextSizeInPx = stepErrorMessageTextSizeInPx;
+        getStyle().stepErrorMessageTextSizeInPx = stepErrorMessageTextSizeInPx;
 
         return this;
     }
@@ -301,7 +305,7 @@ public class Builder {
      * @return The builder instance.
      */
     public Builder leftVerticalLineThicknessSizeInPx(int leftVerticalLineThicknessSizeInPx) {
-        formView.style.leftVerticalLineThicknessSizeInPx = leftVerticalLineThicknessSizeInPx;
+        getStyle().leftVerticalLineThicknessSizeInPx = leftVerticalLineThicknessSizeInPx;
 
         return this;
     }
@@ -314,7 +318,7 @@ public class Builder {
      * @return The builder instance.
      */
     public Builder marginFromStepNumbersToContentInPx(int marginFromStepNumbersToContentInPx) {
-        formView.style.marginFromStepNumbersToContentInPx = marginFromStepNumbersToContentInPx;
+        getStyle().marginFromStepNumbersToContentInPx = marginFromStepNumbersToContentInPx;
 
         return this;
     }
@@ -326,7 +330,7 @@ public class Builder {
      * @return The builder instance.
      */
     public Builder displayBottomNavigation(boolean displayBottomNavigationBar) {
-        formView.style.displayBottomNavigation = displayBottomNavigationBar;
+        getStyle().displayBottomNavigation = displayBottomNavigationBar;
 
         return this;
     }
@@ -338,7 +342,7 @@ public class Builder {
      * @return The builder instance.
      */
     public Builder alphaOfDisabledElements(float alpha) {
-        formView.style.alphaOfDisabledElements = alpha;
+        getStyle().alphaOfDisabledElements = alpha;
 
         return this;
     }
@@ -350,7 +354,7 @@ public class Builder {
      * @return The builder instance.
      */
     public Builder stepNumberFontFamily(Typeface stepNumberFontFamily) {
-        formView.style.stepNumberFontFamily = stepNumberFontFamily;
+        getStyle().stepNumberFontFamily = stepNumberFontFamily;
 
         return this;
     }
@@ -362,7 +366,7 @@ public class Builder {
      * @return The builder instance.
      */
     public Builder stepTitleFontFamily(Typeface stepTitleFontFamily) {
-        formView.style.stepTitleFontFamily = stepTitleFontFamily;
+        getStyle().stepTitleFontFamily = stepTitleFontFamily;
 
         return this;
     }
@@ -374,7 +378,7 @@ public class Builder {
      * @return The builder instance.
      */
     public Builder stepSubtitleFontFamily(Typeface stepSubtitleFontFamily) {
-        formView.style.stepSubtitleFontFamily = stepSubtitleFontFamily;
+        getStyle().stepSubtitleFontFamily = stepSubtitleFontFamily;
 
         return this;
     }
@@ -386,7 +390,7 @@ public class Builder {
      * @return The builder instance.
      */
     public Builder stepErrorMessageFontFamily(Typeface stepErrorMessageFontFamily) {
-        formView.style.stepErrorMessageFontFamily = stepErrorMessageFontFamily;
+        getStyle().stepErrorMessageFontFamily = stepErrorMessageFontFamily;
 
         return this;
     }
@@ -399,7 +403,7 @@ public class Builder {
      * @return The builder instance.
      */
     public Builder backgroundColorOfDisabledElements(int backgroundColorOfDisabledElements) {
-        formView.style.backgroundColorOfDisabledElements = backgroundColorOfDisabledElements;
+        getStyle().backgroundColorOfDisabledElements = backgroundColorOfDisabledElements;
 
         return this;
     }
@@ -415,7 +419,7 @@ public class Builder {
     public Builder displayDifferentBackgroundColorOnDisabledElements(
             boolean displayDifferentBackgroundColorOnDisabledElements) {
 
-        formView.style.displayDifferentBackgroundColorOnDisabledElements
+        getStyle().displayDifferentBackgroundColorOnDisabledElements
                 = displayDifferentBackgroundColorOnDisabledElements;
 
         return this;
@@ -430,7 +434,7 @@ public class Builder {
      * @return The builder instance.
      */
     public Builder displayStepButtons(boolean displayStepButtons) {
-        formView.style.displayStepButtons = displayStepButtons;
+        getStyle().displayStepButtons = displayStepButtons;
 
         return this;
     }
@@ -444,7 +448,7 @@ public class Builder {
      * @return The builder instance.
      */
     public Builder displayCancelButtonInLastStep(boolean displayCancelButtonInLastStep) {
-        formView.style.displayCancelButtonInLastStep = displayCancelButtonInLastStep;
+        getStyle().displayCancelButtonInLastStep = displayCancelButtonInLastStep;
 
         return this;
     }
@@ -458,7 +462,7 @@ public class Builder {
      * @return The builder instance.
      */
     public Builder displayNextButtonInLastStep(boolean displayNextButtonInLastStep) {
-        formView.style.displayNextButtonInLastStep = displayNextButtonInLastStep;
+        getStyle().displayNextButtonInLastStep = displayNextButtonInLastStep;
 
         return this;
     }
@@ -472,7 +476,7 @@ public class Builder {
      * @return The builder instance.
      */
     public Builder includeConfirmationStep(boolean includeConfirmationStep) {
-        formView.style.includeConfirmationStep = includeConfirmationStep;
+        getStyle().includeConfirmationStep = includeConfirmationStep;
 
         return this;
     }
@@ -487,7 +491,7 @@ public class Builder {
      * @return The builder instance.
      */
     public Builder displayStepDataInSubtitleOfClosedSteps(boolean displayStepDataInSubtitleOfClosedSteps) {
-        formView.style.displayStepDataInSubtitleOfClosedSteps = displayStepDataInSubtitleOfClosedSteps;
+        getStyle().displayStepDataInSubtitleOfClosedSteps = displayStepDataInSubtitleOfClosedSteps;
 
         return this;
     }
@@ -500,7 +504,7 @@ public class Builder {
      * @return The builder instance.
      */
     public Builder allowNonLinearNavigation(boolean allowNonLinearNavigation) {
-        formView.style.allowNonLinearNavigation = allowNonLinearNavigation;
+        getStyle().allowNonLinearNavigation = allowNonLinearNavigation;
 
         return this;
     }
@@ -513,7 +517,7 @@ public class Builder {
      * @return The builder instance.
      */
     public Builder allowStepOpeningOnHeaderClick(boolean allowStepOpeningOnHeaderClick) {
-        formView.style.allowStepOpeningOnHeaderClick = allowStepOpeningOnHeaderClick;
+        getStyle().allowStepOpeningOnHeaderClick = allowStepOpeningOnHeaderClick;
 
         return this;
     }
@@ -526,7 +530,141 @@ public class Builder {
      * @return The builder instance.
      */
     public Builder closeLastStepOnCompletion(boolean closeLastStepOnCompletion) {
-        formView.style.closeLastStepOnCompletion = closeLastStepOnCompletion;
+        getStyle().closeLastStepOnCompletion = closeLastStepOnCompletion;
+
+        return this;
+    }
+
+    /**
+     * Specifies whether or not the steps will be rendered in virtualized mode. In this mode, the
+     * steps are displayed through a recycler view, so the views of each step will only be created
+     * once the step gets close to the visible area of the form, and the step layouts will be
+     * recycled as the user scrolls. Recommended for forms with a very large number of steps.
+     *
+     * Please note that, in this mode, the content layout of a step won't be created until the step
+     * is about to be displayed or until its data is needed by the form.
+     *
+     * @param virtualizeStepViews True to render the steps in virtualized mode; false to not.
+     * @return The builder instance.
+     */
+    public Builder virtualizeStepViews(boolean virtualizeStepViews) {
+        getStyle().virtualizeStepViews = virtualizeStepViews;
+
+        return this;
+    }
+
+    /**
+     * Specifies whether or not the content layout of each step will only be created the first time
+     * the step is opened. Until then, closed steps will only display their header, which reduces
+     * the time and memory required to set up forms with many steps.
+     *
+     * Please note that the content layout of a step could also be created before the step is
+     * opened if the form needs its data (for example, to validate it). Data restored into a step
+     * whose content doesn't exist yet will be held by the form and passed on to the step via
+     * restoreStepData() once the content gets created.
+     *
+     * @param createStepContentOnFirstOpening True to create the content of each step the first
+     *                                        time it is opened; false to create it on setup.
+     * @return The builder instance.
+     */
+    public Builder createStepContentOnFirstOpening(boolean createStepContentOnFirstOpening) {
+        getStyle().createStepContentOnFirstOpening = createStepContentOnFirstOpening;
+
+        return this;
+    }
+
+    /**
+     * Specifies whether or not the step layouts will be inflated asynchronously, off the main
+     * thread. If so, the layout of the first step will be inflated right away, while the rest of
+     * the step layouts will be inflated in the background and attached progressively to the form.
+     * Once all of them have been attached, onFormInitialized() will be invoked on the listener.
+     * Steps cannot be added or removed dynamically until then.
+     *
+     * Please note that this option has no effect when the steps are rendered in virtualized mode,
+     * as the step layouts are already created on demand in that mode.
+     *
+     * @param inflateStepLayoutsAsynchronously True to inflate the step layouts asynchronously;
+     *                                         false to inflate them synchronously on setup.
+     * @return The builder instance.
+     */
+    public Builder inflateStepLayoutsAsynchronously(boolean inflateStepLayoutsAsynchronously) {
+        getStyle().inflateStepLayoutsAsynchronously = inflateStepLayoutsAsynchronously;
+
+        return this;
+    }
+
+    /**
+     * Sets the time that the form will wait for new validation requests before validating the data
+     * of a step asynchronously after a call to markAsCompletedOrUncompletedAsynchronously(). Any
+     * request made during this time will supersede the previous one, so the data will only be
+     * validated once the user stops changing it. By default, it is 300 milliseconds.
+     *
+     * @param stepDataValidationDelayInMs The delay in milliseconds.
+     * @return The builder instance.
+     */
+    public Builder stepDataValidationDelay(int stepDataValidationDelayInMs) {
+        getStyle().stepDataValidationDelayInMs = stepDataValidationDelayInMs;
+
+        return this;
+    }
+
+    /**
+     * Sets the store that will hold the state snapshots of the form that are too big to be kept in
+     * the saved instance state bundle (see maxStateSnapshotSizeInBundle()). In such cases, only a
+     * handle to the snapshot will be kept in the bundle. By default, there is no store, so the
+     * snapshots are always kept in the bundle.
+     *
+     * @param stateSnapshotStore The store for oversized state snapshots.
+     * @return The builder instance.
+     */
+    public Builder stateSnapshotStore(FormStateSnapshotStore stateSnapshotStore) {
+        formView.stateSnapshotStore = stateSnapshotStore;
+
+        return this;
+    }
+
+    /**
+     * Sets the maximum size of the state snapshots that will be kept in the saved instance state
+     * bundle. Bigger snapshots will be kept in the store set via stateSnapshotStore(), if any.
+     * By default, it is 256 KB.
+     *
+     * @param maxStateSnapshotSizeInBundleInBytes The maximum size in bytes.
+     * @return The builder instance.
+     */
+    public Builder maxStateSnapshotSizeInBundle(int maxStateSnapshotSizeInBundleInBytes) {
+        getStyle().maxStateSnapshotSizeInBundleInBytes = maxStateSnapshotSizeInBundleInBytes;
+
+        return this;
+    }
+
+    /**
+     * Specifies the file where the state of the form will be saved automatically as the user fills
+     * it in, so it can be restored the next time the form is set up even if the process was killed.
+     * The changes are appended to the file in batches from a background thread, and the file is
+     * compacted periodically. By default, the state of the form is not saved automatically.
+     *
+     * Please note that the saved state is only restored if the form has the same steps, and that it
+     * is kept until clearAutosavedState() is called on the form (e.g., once its data is sent).
+     *
+     * @param autosaveJournalFile The file where the state of the form will be saved.
+     * @return The builder instance.
+     */
+    public Builder autosaveJournal(File autosaveJournalFile) {
+        formView.autosaveJournalFile = autosaveJournalFile;
+
+        return this;
+    }
+
+    /**
+     * Sets the listener that will receive measurements of the work done by the form, such as the
+     * time it takes to inflate the steps, to validate their data or to save the state of the form.
+     * By default, there is no metrics listener.
+     *
+     * @param metricsListener The listener for the metrics of the form.
+     * @return The builder instance.
+     */
+    public Builder metricsListener(FormMetricsListener metricsListener) {
+        formView.metricsListener = metricsListener;
 
         return this;
     }
@@ -535,10 +673,22 @@ public class Builder {
      * Sets up the form and initializes it.
      */
     public void init() {
+        if (styleBuilder != null) {
+            formView.style = styleBuilder.build();
+        }
         addConfirmationStepIfRequested();
         formView.initializeForm(listener, steps);
     }
 
+    private FormStyle.Builder getStyle() {
+        // Styles are immutable, so the changes are made on a builder and applied on init()
+        if (styleBuilder == null) {
+            styleBuilder = formView.style.toBuilder();
+        }
+
+        return styleBuilder;
+    }
+
     private void addConfirmationStepIfRequested() {
         if (formView.style.includeConfirmationStep) {
             StepHelper[] currentSteps = steps;
@@ -0,0 +1,315 @@
+package ernestoyaquello.com.verticalstepperform;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Append-only journal that keeps the state of an in-progress form on disk, so it can be restored
+ * if the process gets killed.
+ *
+ * The journal starts with a full snapshot of the form and is followed by records with the changes
+ * of individual steps. The changes are collected on the main thread and written in batches by a
+ * background thread, and once there are too many records, the journal is compacted by replacing
+ * it with a new full snapshot.
+ */
+class FormAutosaveJournal {
+
+    private static final int RECORD_SNAPSHOT = 0;
+    private static final int RECORD_STEP = 1;
+    private static final int RECORD_FORM = 2;
+
+    private static final int BATCH_DELAY_IN_MS = 500;
+    private static final int MIN_RECORDS_BEFORE_COMPACTION = 64;
+
+    // A single thread writes all the journals, so the journals of different instances of the same
+    // form (e.g., before and after a configuration change) are never written at the same time
+    private static final ExecutorService writingExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "FormAutosaveJournal");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final File file;
+    private final VerticalStepperFormView formView;
+    private final List<StepHelper> stepHelpers;
+    private final Handler mainThreadHandler;
+    private final Runnable writeChangesRunnable;
+
+    // Only accessed from the main thread
+    private final BitSet changedSteps;
+    private boolean formStateChanged;
+    private boolean compactionRequested;
+    private boolean started;
+    private int numberOfRecordsSinceSnapshot;
+
+    // Only accessed from the writing thread
+    private DataOutputStream journalOutput;
+
+    FormAutosaveJournal(File file, VerticalStepperFormView formView, List<StepHelper> stepHelpers) {
+        this.file = file;
+        this.formView = formView;
+        this.stepHelpers = stepHelpers;
+        this.mainThreadHandler = new Handler(Looper.getMainLooper());
+        this.writeChangesRunnable = this::writeChanges;
+        this.changedSteps = new BitSet();
+    }
+
+    /**
+     * Reads the state saved in the journal, if any. Must be called before start().
+     *
+     * @return The saved state of the form, or null if there is none or it doesn't match the form.
+     */
+    FormStateSnapshot read() {
+        if (!file.exists()) {
+            return null;
+        }
+
+        FormStateSnapshot snapshot = null;
+        try (DataInputStream input = new DataInputStream(new FileInputStream(file))) {
+            while (true) {
+                int recordType;
+                byte[] record;
+                try {
+                    recordType = input.readByte();
+                    record = new byte[input.readInt()];
+                    input.readFully(record);
+                } catch (EOFException e) {
+                    // Either the end of the journal or a record that was only partially written
+                    break;
+                }
+
+                DataInputStream recordInput = new DataInputStream(new ByteArrayInputStream(record));
+                if (recordType == RECORD_SNAPSHOT) {
+                    snapshot = FormStateSnapshot.fromByteArray(record, stepHelpers.size(), StepHelper.getStepDataCodecs(stepHelpers));
+                } else if (snapshot != null && recordType == RECORD_STEP) {
+                    int position = recordInput.readInt();
+                    if (position < 0 || position >= snapshot.numberOfSteps) {
+                        return null;
+                    }
+                    snapshot.readStepState(position, StepHelper.getStepDataCodecs(stepHelpers), recordInput);
+                } else if (snapshot != null && recordType == RECORD_FORM) {
+                    snapshot.openStepPosition = recordInput.readInt();
+                    snapshot.formCompleted = recordInput.readBoolean();
+                }
+            }
+        } catch (IOException e) {
+            // The journal is corrupted or belongs to a different form, so it cannot be used
+            return null;
+        }
+
+        return snapshot;
+    }
+
+    /**
+     * Starts recording the changes of the form, replacing the previous content of the journal with
+     * the current state of the form.
+     */
+    void start() {
+        started = true;
+        requestCompaction();
+    }
+
+    /**
+     * Records that the state of a step has changed.
+     *
+     * @param position The position of the step.
+     */
+    void onStepChanged(int position) {
+        if (started && position >= 0) {
+            changedSteps.set(position);
+            scheduleChangesWriting();
+        }
+    }
+
+    /**
+     * Records that the open step or the completion state of the form have changed.
+     */
+    void onFormStateChanged() {
+        if (started) {
+            formStateChanged = true;
+            scheduleChangesWriting();
+        }
+    }
+
+    /**
+     * Requests the journal to be replaced with a full snapshot of the form, which is necessary when
+     * the positions of the steps change.
+     */
+    void requestCompaction() {
+        if (started) {
+            compactionRequested = true;
+            scheduleChangesWriting();
+        }
+    }
+
+    /**
+     * Writes any pending changes right away instead of waiting for the next batch.
+     */
+    void flush() {
+        if (started) {
+            mainThreadHandler.removeCallbacks(writeChangesRunnable);
+            writeChanges();
+        }
+    }
+
+    /**
+     * Writes any pending changes right away and closes the journal file, which will be opened
+     * again if more changes are recorded.
+     */
+    void close() {
+        flush();
+        writingExecutor.execute(this::closeJournalOutput);
+    }
+
+    /**
+     * Stops recording the changes of the form and deletes the journal.
+     */
+    void clear() {
+        started = false;
+        mainThreadHandler.removeCallbacks(writeChangesRunnable);
+        changedSteps.clear();
+        formStateChanged = false;
+        compactionRequested = false;
+
+        writingExecutor.execute(() -> {
+            closeJournalOutput();
+            file.delete();
+        });
+    }
+
+    private void scheduleChangesWriting() {
+        mainThreadHandler.removeCallbacks(writeChangesRunnable);
+        mainThreadHandler.postDelayed(writeChangesRunnable, BATCH_DELAY_IN_MS);
+    }
+
+    private void writeChanges() {
+        int numberOfChanges = changedSteps.cardinality() + (formStateChanged ? 1 : 0);
+        int maxRecordsBeforeCompaction = Math.max(MIN_RECORDS_BEFORE_COMPACTION, stepHelpers.size() * 2);
+        if (numberOfRecordsSinceSnapshot + numberOfChanges > maxRecordsBeforeCompaction) {
+            compactionRequested = true;
+        }
+
+        // The state is captured here, on the main thread, while the file is written in the background
+        final List<byte[]> records = new ArrayList<>();
+        final boolean compact = compactionRequested;
+        try {
+            if (compact) {
+                records.add(createRecord(RECORD_SNAPSHOT, formView.updateStateSnapshot().toByteArray(StepHelper.getStepDataCodecs(stepHelpers))));
+                numberOfRecordsSinceSnapshot = 0;
+            } else {
+                if (!changedSteps.isEmpty()) {
+                    FormStateSnapshot changes = new FormStateSnapshot(stepHelpers.size());
+                    for (int i = changedSteps.nextSetBit(0); i >= 0 && i < stepHelpers.size(); i = changedSteps.nextSetBit(i + 1)) {
+                        stepHelpers.get(i).captureState(changes, i);
+                        records.add(createStepRecord(i, changes));
+                    }
+                }
+                if (formStateChanged) {
+                    records.add(createFormRecord());
+                }
+                numberOfRecordsSinceSnapshot += records.size();
+            }
+        } catch (IOException e) {
+            // The state cannot be encoded, so another batch is scheduled to write a full snapshot
+            requestCompaction();
+            return;
+        } finally {
+            changedSteps.clear();
+            formStateChanged = false;
+        }
+        compactionRequested = false;
+
+        if (!records.isEmpty()) {
+            writingExecutor.execute(() -> writeRecords(records, compact));
+        }
+    }
+
+    private byte[] createStepRecord(int position, FormStateSnapshot changes) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(bytes);
+        output.writeInt(position);
+        changes.writeStepState(position, StepHelper.getStepDataCodecs(stepHelpers), output);
+        output.flush();
+
+        return createRecord(RECORD_STEP, bytes.toByteArray());
+    }
+
+    private byte[] createFormRecord() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(bytes);
+        output.writeInt(formView.getOpenStepPosition());
+        output.writeBoolean(formView.isFormCompleted());
+        output.flush();
+
+        return createRecord(RECORD_FORM, bytes.toByteArray());
+    }
+
+    private static byte[] createRecord(int recordType, byte[] content) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(content.length + 5);
+        DataOutputStream output = new DataOutputStream(bytes);
+        output.writeByte(recordType);
+        output.writeInt(content.length);
+        output.write(content);
+        output.flush();
+
+        return bytes.toByteArray();
+    }
+
+    private void writeRecords(List<byte[]> records, boolean replaceJournal) {
+        try {
+            if (replaceJournal) {
+                // The new journal is written aside and then moved into place, so it is never lost
+                closeJournalOutput();
+                File temporaryFile = new File(file.getPath() + ".tmp");
+                try (FileOutputStream output = new FileOutputStream(temporaryFile)) {
+                    for (byte[] record : records) {
+                        output.write(record);
+                    }
+                    output.getFD().sync();
+                }
+                if (!temporaryFile.renameTo(file)) {
+                    throw new IOException("Unable to replace the autosave journal");
+                }
+            } else {
+                if (journalOutput == null) {
+                    journalOutput = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file, true)));
+                }
+                for (byte[] record : records) {
+                    journalOutput.write(record);
+                }
+                journalOutput.flush();
+            }
+        } catch (IOException e) {
+            // The journal couldn't be written, so another batch is scheduled to write a full snapshot
+            closeJournalOutput();
+            mainThreadHandler.post(this::requestCompaction);
+        }
+    }
+
+    private void closeJournalOutput() {
+        if (journalOutput != null) {
+            try {
+                journalOutput.close();
+            } catch (IOException e) {
+                // No need to do anything here
+            }
+            journalOutput = null;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package ernestoyaquello.com.verticalstepperform;
+
+/**
+ * An operation on the form that can be posted from any thread via postCommand(). It will always
+ * be executed on the main thread, which is the only one the form can be used from.
+ */
+public interface FormCommand {
+
+    /**
+     * Executes the operation on the form. It is called on the main thread.
+     *
+     * @param formView The form the operation is executed on.
+     */
+    void execute(VerticalStepperFormView formView);
+}
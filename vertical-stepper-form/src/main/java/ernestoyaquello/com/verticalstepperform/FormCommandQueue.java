@@ -0,0 +1,54 @@
+package ernestoyaquello.com.verticalstepperform;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Thread-safe queue of commands that will be executed on the main thread in the same order in
+ * which they were posted. All the commands that are pending when the queue is drained are
+ * executed within the same batch update, so the views of the form are only updated once.
+ */
+class FormCommandQueue {
+
+    private final VerticalStepperFormView formView;
+    private final Queue<FormCommand> pendingCommands;
+    private final AtomicBoolean drainScheduled;
+    private final Handler mainThreadHandler;
+    private final Runnable drainRunnable;
+
+    FormCommandQueue(VerticalStepperFormView formView) {
+        this.formView = formView;
+        this.pendingCommands = new ConcurrentLinkedQueue<>();
+        this.drainScheduled = new AtomicBoolean(false);
+        this.mainThreadHandler = new Handler(Looper.getMainLooper());
+        this.drainRunnable = this::drain;
+    }
+
+    /**
+     * Posts a command to be executed on the main thread. Can be called from any thread.
+     *
+     * @param command The command to execute.
+     */
+    void post(FormCommand command) {
+        pendingCommands.add(command);
+        if (drainScheduled.compareAndSet(false, true)) {
+            mainThreadHandler.post(drainRunnable);
+        }
+    }
+
+    private void drain() {
+        // Any command posted from now on will need a new drain
+        drainScheduled.set(false);
+
+        formView.batchUpdate(() -> {
+            FormCommand command;
+            while ((command = pendingCommands.poll()) != null) {
+                command.execute(formView);
+            }
+        });
+    }
+}
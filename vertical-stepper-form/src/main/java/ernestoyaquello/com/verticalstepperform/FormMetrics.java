@@ -0,0 +1,100 @@
+package ernestoyaquello.com.verticalstepperform;
+
+import android.os.Trace;
+
+import ernestoyaquello.com.verticalstepperform.listener.FormMetricsListener;
+
+/**
+ * Measures the key sections of the work done by the form, wrapping them in trace sections and
+ * reporting their duration to the metrics listener of the form, if any.
+ * It must only be used from the main thread, except for the methods that state otherwise.
+ */
+class FormMetrics {
+
+    static final String SECTION_STEP_LAYOUT_INFLATION = "VerticalStepperForm:inflateStepLayout";
+    static final String SECTION_STEP_CONTENT_CREATION = "VerticalStepperForm:createStepContentLayout";
+    static final String SECTION_STEP_DATA_VALIDATION = "VerticalStepperForm:validateStepData";
+    static final String SECTION_ANIMATION_FRAME = "VerticalStepperForm:animationFrame";
+    static final String SECTION_STATE_SAVING = "VerticalStepperForm:saveState";
+    static final String SECTION_NAVIGATION = "VerticalStepperForm:goToStep";
+
+    private final VerticalStepperFormView formView;
+
+    FormMetrics(VerticalStepperFormView formView) {
+        this.formView = formView;
+    }
+
+    /**
+     * Starts a measured section. Can be called from any thread, as long as the section is ended
+     * on that same thread.
+     *
+     * @param sectionName The name of the section, as it will appear in the traces.
+     * @return The start time of the section, which must be passed to endSection().
+     */
+    static long beginSection(String sectionName) {
+        Trace.beginSection(sectionName);
+        return System.nanoTime();
+    }
+
+    /**
+     * Ends the section that was started last on the current thread.
+     *
+     * @param startTimeNanos The start time of the section, as returned by beginSection().
+     * @return The duration of the section, in nanoseconds.
+     */
+    static long endSection(long startTimeNanos) {
+        long durationNanos = System.nanoTime() - startTimeNanos;
+        Trace.endSection();
+
+        return durationNanos;
+    }
+
+    void onStepLayoutInflated(int stepPosition, long durationNanos) {
+        FormMetricsListener listener = formView.metricsListener;
+        if (listener != null) {
+            listener.onStepLayoutInflated(stepPosition, durationNanos);
+        }
+    }
+
+    void onStepContentLayoutCreated(int stepPosition, long durationNanos) {
+        FormMetricsListener listener = formView.metricsListener;
+        if (listener != null) {
+            listener.onStepContentLayoutCreated(stepPosition, durationNanos);
+        }
+    }
+
+    void onStepDataValidated(int stepPosition, long durationNanos, boolean asynchronous) {
+        FormMetricsListener listener = formView.metricsListener;
+        if (listener != null) {
+            listener.onStepDataValidated(stepPosition, durationNanos, asynchronous);
+        }
+    }
+
+    void onAnimationsFinished(int frameCount, int droppedFrameCount) {
+        FormMetricsListener listener = formView.metricsListener;
+        if (listener != null) {
+            listener.onAnimationsFinished(frameCount, droppedFrameCount);
+        }
+    }
+
+    void onStateSaved(int sizeInBytes, long durationNanos) {
+        FormMetricsListener listener = formView.metricsListener;
+        if (listener != null) {
+            listener.onStateSaved(sizeInBytes, durationNanos);
+        }
+    }
+
+    void onStateRestorationFailed(Exception exception) {
+        FormMetricsListener listener = formView.metricsListener;
+        if (listener != null) {
+            listener.onStateRestorationFailed(exception);
+        }
+    }
+
+    void onNavigatedToStep(int stepPosition, long durationNanos) {
+        FormMetricsListener listener = formView.metricsListener;
+        if (listener != null) {
+            listener.onNavigatedToStep(stepPosition, durationNanos);
+        }
+    }
+}
@@ -0,0 +1,432 @@
+package ernestoyaquello.com.verticalstepperform;
+
+import java.util.BitSet;
+
+/**
+ * This class holds the state of a vertical stepper form (i.e., its list of steps, the open step,
+ * the steps that are completed or in an error state and whether the form has been completed or
+ * cancelled) and implements its navigation rules.
+ *
+ * It doesn't depend on any Android class, so it can be used on its own on a plain JVM. The form
+ * view keeps an instance of this class as the source of truth for its state and observes it via
+ * FormState.Listener in order to update its views accordingly.
+ */
+public class FormState {
+
+    private final BitSet completedSteps;
+    private final BitSet errorSteps;
+    private int numberOfSteps;
+    private int openStepPosition;
+    private boolean allowNonLinearNavigation;
+    private boolean formCompleted;
+    private boolean formCancelled;
+
+    private Listener listener;
+
+    /**
+     * Creates the state of a form with the specified number of steps, none of them open or completed.
+     *
+     * @param numberOfSteps The number of steps of the form.
+     * @param allowNonLinearNavigation True to allow navigating to any step without having completed
+     *                                 the previous ones; false to not.
+     */
+    public FormState(int numberOfSteps, boolean allowNonLinearNavigation) {
+        if (numberOfSteps < 0) {
+            throw new IllegalArgumentException("The number of steps cannot be negative");
+        }
+
+        this.completedSteps = new BitSet(numberOfSteps);
+        this.errorSteps = new BitSet(numberOfSteps);
+        this.numberOfSteps = numberOfSteps;
+        this.openStepPosition = -1;
+        this.allowNonLinearNavigation = allowNonLinearNavigation;
+    }
+
+    /**
+     * Sets the listener that will be notified about the changes of this state.
+     *
+     * @param listener The listener, or null to not notify anyone.
+     */
+    public void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Gets the total number of steps.
+     *
+     * @return The number of steps.
+     */
+    public int getNumberOfSteps() {
+        return numberOfSteps;
+    }
+
+    /**
+     * Determines whether the navigation to any step is allowed even if the previous ones aren't
+     * completed.
+     *
+     * @return True if non-linear navigation is allowed; false otherwise.
+     */
+    public boolean isNonLinearNavigationAllowed() {
+        return allowNonLinearNavigation;
+    }
+
+    /**
+     * Inserts the specified number of uncompleted, closed steps at the specified position.
+     *
+     * @param index The position where the first step will be inserted.
+     * @param count The number of steps to insert.
+     */
+    public void insertSteps(int index, int count) {
+        if (index < 0 || index > numberOfSteps || count < 0) {
+            throw new IndexOutOfBoundsException("Cannot insert " + count + " steps at " + index);
+        }
+
+        shiftUp(completedSteps, index, count);
+        shiftUp(errorSteps, index, count);
+        numberOfSteps += count;
+        if (openStepPosition >= index) {
+            openStepPosition += count;
+        }
+    }
+
+    /**
+     * Removes the steps placed between the specified positions. If the open step is one of them,
+     * there will be no open step after the removal.
+     *
+     * @param fromIndex The position of the first step to remove (inclusive).
+     * @param toIndex The position of the last step to remove (exclusive).
+     */
+    public void removeSteps(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > numberOfSteps || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("Cannot remove steps from " + fromIndex + " to " + toIndex);
+        }
+
+        int count = toIndex - fromIndex;
+        shiftDown(completedSteps, fromIndex, count);
+        shiftDown(errorSteps, fromIndex, count);
+        numberOfSteps -= count;
+        if (openStepPosition >= toIndex) {
+            openStepPosition -= count;
+        } else if (openStepPosition >= fromIndex) {
+            openStepPosition = -1;
+        }
+    }
+
+    /**
+     * Gets the position of the open step.
+     *
+     * @return The position of the open step, counting from 0. -1 if there is no open step.
+     */
+    public int getOpenStepPosition() {
+        return openStepPosition;
+    }
+
+    /**
+     * Marks the specified step as the open one, which implies that the previously open step, if
+     * any, won't be open anymore. Navigation rules are not checked here; see canGoToStep().
+     *
+     * @param stepPosition The position of the step to open.
+     */
+    public void openStep(int stepPosition) {
+        checkStepPosition(stepPosition);
+
+        if (openStepPosition != stepPosition) {
+            int previousOpenStepPosition = openStepPosition;
+            openStepPosition = stepPosition;
+            if (listener != null) {
+                listener.onOpenStepChanged(previousOpenStepPosition, openStepPosition);
+            }
+        }
+    }
+
+    /**
+     * Closes the specified step if it is the open one.
+     *
+     * @param stepPosition The position of the step to close.
+     */
+    public void closeStep(int stepPosition) {
+        if (openStepPosition == stepPosition && stepPosition != -1) {
+            openStepPosition = -1;
+            if (listener != null) {
+                listener.onOpenStepChanged(stepPosition, -1);
+            }
+        }
+    }
+
+    /**
+     * Determines whether it is possible to navigate to the specified step from the open one.
+     * Navigating to the position right after the last step is considered an attempt to complete
+     * the form.
+     *
+     * @param stepPosition The position of the step to go to.
+     * @return True if the navigation to the step is allowed; false otherwise.
+     */
+    public boolean canGoToStep(int stepPosition) {
+        if (formCompleted
+                || stepPosition == openStepPosition
+                || stepPosition < 0
+                || stepPosition > numberOfSteps) {
+            return false;
+        }
+
+        return (allowNonLinearNavigation && stepPosition < numberOfSteps)
+                || areAllPreviousStepsCompleted(stepPosition);
+    }
+
+    /**
+     * Determines whether the step placed before the open one can be navigated to.
+     *
+     * @return True if it is possible to go to the previous step; false otherwise.
+     */
+    public boolean canGoToPreviousStep() {
+        return !formCompleted && openStepPosition > 0;
+    }
+
+    /**
+     * Determines whether the step placed after the open one can be navigated to.
+     *
+     * @return True if it is possible to go to the next step; false otherwise.
+     */
+    public boolean canGoToNextStep() {
+        return !formCompleted
+                && openStepPosition >= 0
+                && (openStepPosition + 1) < numberOfSteps
+                && (allowNonLinearNavigation || isStepCompleted(openStepPosition));
+    }
+
+    /**
+     * Marks the specified step as completed or uncompleted.
+     *
+     * @param stepPosition The step position.
+     * @param completed True to mark it as completed; false to mark it as uncompleted.
+     */
+    public void setStepCompleted(int stepPosition, boolean completed) {
+        checkStepPosition(stepPosition);
+
+        if (completedSteps.get(stepPosition) != completed) {
+            completedSteps.set(stepPosition, completed);
+            if (listener != null) {
+                listener.onStepCompletionStateChanged(stepPosition, completed);
+            }
+        }
+    }
+
+    /**
+     * Determines whether the specified step is marked as completed or not.
+     *
+     * @param stepPosition The step position.
+     * @return True if the step is marked as completed; false otherwise.
+     */
+    public boolean isStepCompleted(int stepPosition) {
+        return stepPosition >= 0 && stepPosition < numberOfSteps && completedSteps.get(stepPosition);
+    }
+
+    /**
+     * Marks the specified step as being or not being in an error state.
+     *
+     * @param stepPosition The step position.
+     * @param hasError True if the step is in an error state; false otherwise.
+     */
+    public void setStepError(int stepPosition, boolean hasError) {
+        checkStepPosition(stepPosition);
+
+        if (errorSteps.get(stepPosition) != hasError) {
+            errorSteps.set(stepPosition, hasError);
+            if (listener != null) {
+                listener.onStepErrorStateChanged(stepPosition, hasError);
+            }
+        }
+    }
+
+    /**
+     * Determines whether the specified step is in an error state or not.
+     *
+     * @param stepPosition The step position.
+     * @return True if the step is in an error state; false otherwise.
+     */
+    public boolean hasStepError(int stepPosition) {
+        return stepPosition >= 0 && stepPosition < numberOfSteps && errorSteps.get(stepPosition);
+    }
+
+    /**
+     * Gets the number of steps that are marked as completed.
+     *
+     * @return The number of completed steps.
+     */
+    public int getNumberOfCompletedSteps() {
+        return completedSteps.cardinality();
+    }
+
+    /**
+     * Determines whether there is at least one step marked as completed.
+     *
+     * @return True if at least one step is completed; false otherwise.
+     */
+    public boolean isAnyStepCompleted() {
+        return !completedSteps.isEmpty();
+    }
+
+    /**
+     * Determines whether all the steps previous to the specified one are marked as completed.
+     *
+     * @param stepPosition The step position.
+     * @return True if all the previous steps are completed; false otherwise.
+     */
+    public boolean areAllPreviousStepsCompleted(int stepPosition) {
+        return completedSteps.nextClearBit(0) >= stepPosition;
+    }
+
+    /**
+     * Determines whether all the steps are marked as completed.
+     *
+     * @return True if all the steps are completed; false otherwise.
+     */
+    public boolean areAllStepsCompleted() {
+        return areAllPreviousStepsCompleted(numberOfSteps);
+    }
+
+    /**
+     * Determines whether the form has been completed or cancelled.
+     *
+     * @return True if the form has been completed or cancelled; false otherwise.
+     */
+    public boolean isFormCompleted() {
+        return formCompleted;
+    }
+
+    /**
+     * Determines whether the form has been cancelled. Only meaningful while isFormCompleted()
+     * returns true.
+     *
+     * @return True if the form was completed via a cancellation; false otherwise.
+     */
+    public boolean isFormCancelled() {
+        return formCompleted && formCancelled;
+    }
+
+    /**
+     * Attempts to complete or cancel the form. A completion will only succeed if there is an open
+     * step and all the steps are completed; a cancellation only requires an open step.
+     *
+     * @param isCancellation True to cancel the form; false to complete it.
+     * @return True if the form was completed or cancelled; false otherwise.
+     */
+    public boolean completeForm(boolean isCancellation) {
+        boolean openStepExists = openStepPosition >= 0 && openStepPosition < numberOfSteps;
+        if (formCompleted || !openStepExists || (!isCancellation && !areAllStepsCompleted())) {
+            return false;
+        }
+
+        formCompleted = true;
+        formCancelled = isCancellation;
+        if (listener != null) {
+            listener.onFormCompleted(isCancellation);
+        }
+
+        return true;
+    }
+
+    /**
+     * Reverts a previous form completion or cancellation, making the form usable again.
+     *
+     * @return True if the form was completed or cancelled and has been reverted; false otherwise.
+     */
+    public boolean cancelFormCompletionOrCancellationAttempt() {
+        if (!formCompleted) {
+            return false;
+        }
+
+        formCompleted = false;
+        formCancelled = false;
+        if (listener != null) {
+            listener.onFormCompletionOrCancellationAttemptCancelled();
+        }
+
+        return true;
+    }
+
+    /**
+     * Sets whether the form is completed without notifying the listener. Meant to be used when
+     * the state is being restored.
+     *
+     * @param formCompleted True if the form is completed; false otherwise.
+     */
+    public void restoreFormCompleted(boolean formCompleted) {
+        this.formCompleted = formCompleted;
+        this.formCancelled = false;
+    }
+
+    private void checkStepPosition(int stepPosition) {
+        if (stepPosition < 0 || stepPosition >= numberOfSteps) {
+            throw new IndexOutOfBoundsException("Invalid step position: " + stepPosition);
+        }
+    }
+
+    private static void shiftUp(BitSet bits, int fromIndex, int count) {
+        int length = bits.length();
+        if (count == 0 || fromIndex >= length) {
+            return;
+        }
+
+        BitSet movedBits = bits.get(fromIndex, length);
+        bits.clear(fromIndex, length);
+        for (int i = movedBits.nextSetBit(0); i >= 0; i = movedBits.nextSetBit(i + 1)) {
+            bits.set(fromIndex + count + i);
+        }
+    }
+
+    private static void shiftDown(BitSet bits, int fromIndex, int count) {
+        int length = bits.length();
+        if (count == 0 || fromIndex >= length) {
+            return;
+        }
+
+        BitSet movedBits = bits.get(Math.min(fromIndex + count, length), length);
+        bits.clear(fromIndex, length);
+        for (int i = movedBits.nextSetBit(0); i >= 0; i = movedBits.nextSetBit(i + 1)) {
+            bits.set(fromIndex + i);
+        }
+    }
+
+    /**
+     * Listener to be notified about the changes of the form state.
+     */
+    public interface Listener {
+
+        /**
+         * Called when the open step changes.
+         *
+         * @param previousOpenStepPosition The position of the previously open step, or -1.
+         * @param openStepPosition The position of the open step, or -1 if there is none.
+         */
+        void onOpenStepChanged(int previousOpenStepPosition, int openStepPosition);
+
+        /**
+         * Called when a step gets marked as completed or uncompleted.
+         *
+         * @param stepPosition The step position.
+         * @param completed True if the step is now completed; false otherwise.
+         */
+        void onStepCompletionStateChanged(int stepPosition, boolean completed);
+
+        /**
+         * Called when a step enters or leaves an error state.
+         *
+         * @param stepPosition The step position.
+         * @param hasError True if the step is now in an error state; false otherwise.
+         */
+        void onStepErrorStateChanged(int stepPosition, boolean hasError);
+
+        /**
+         * Called when the form gets completed or cancelled.
+         *
+         * @param cancelled True if the form was cancelled; false if it was completed.
+         */
+        void onFormCompleted(boolean cancelled);
+
+        /**
+         * Called when a form completion or cancellation gets reverted.
+         */
+        void onFormCompletionOrCancellationAttemptCancelled();
+    }
+}
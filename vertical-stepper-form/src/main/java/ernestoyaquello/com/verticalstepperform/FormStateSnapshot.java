@@ -0,0 +1,319 @@
+package ernestoyaquello.com.verticalstepperform;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.BitSet;
+
+/**
+ * Holds the state of the form so it can be saved and restored, and converts it to and from a
+ * compact, versioned binary representation.
+ *
+ * The binary layout is: version, number of steps, open step position, completion state of the
+ * form, the bit sets of completed steps, steps in an error state and steps with data, and then,
+ * for each step, a byte of flags followed by the texts that differ from the original ones. The
+ * data of the steps is written last, each block prefixed by its length, using the codec of the
+ * step if it has one, or Java serialization otherwise.
+ *
+ * It doesn't depend on any Android class, so it can be used on its own on a plain JVM.
+ */
+class FormStateSnapshot {
+
+    private static final int VERSION = 1;
+
+    private static final int FLAG_TITLE = 1;
+    private static final int FLAG_SUBTITLE = 1 << 1;
+    private static final int FLAG_BUTTON_TEXT = 1 << 2;
+    private static final int FLAG_ERROR_MESSAGE = 1 << 3;
+
+    private static final int DATA_ENCODED_WITH_CODEC = 0;
+    private static final int DATA_SERIALIZED = 1;
+
+    final int numberOfSteps;
+    final BitSet completedSteps;
+    final BitSet errorSteps;
+    final BitSet stepsWithData;
+    final Serializable[] stepsData;
+
+    // A null text means that the text is the original one, so it doesn't need to be restored
+    final String[] titles;
+    final String[] subtitles;
+    final String[] buttonTexts;
+    final String[] errorMessages;
+
+    int openStepPosition;
+    boolean formCompleted;
+
+    // The encoded data of each step is kept so it only needs to be encoded again after it changes
+    private final byte[][] encodedStepsData;
+
+    FormStateSnapshot(int numberOfSteps) {
+        this.numberOfSteps = numberOfSteps;
+        this.completedSteps = new BitSet(numberOfSteps);
+        this.errorSteps = new BitSet(numberOfSteps);
+        this.stepsWithData = new BitSet(numberOfSteps);
+        this.stepsData = new Serializable[numberOfSteps];
+        this.titles = new String[numberOfSteps];
+        this.subtitles = new String[numberOfSteps];
+        this.buttonTexts = new String[numberOfSteps];
+        this.errorMessages = new String[numberOfSteps];
+        this.encodedStepsData = new byte[numberOfSteps][];
+        this.openStepPosition = -1;
+    }
+
+    /**
+     * Sets the state of a step of the form.
+     *
+     * @param position The position of the step.
+     * @param completed True if the step is completed; false otherwise.
+     * @param hasError True if the step is in an error state; false otherwise.
+     * @param hasData True if the step has data that must be saved; false otherwise.
+     * @param data The data of the step.
+     * @param title The title of the step, or null if it is the original one.
+     * @param subtitle The subtitle of the step, or null if it is the original one.
+     * @param buttonText The text of the button of the step, or null if it is the original one.
+     * @param errorMessage The error message of the step, or null if there is none.
+     */
+    void setStepState(int position, boolean completed, boolean hasError, boolean hasData, Serializable data,
+                      String title, String subtitle, String buttonText, String errorMessage) {
+        completedSteps.set(position, completed);
+        errorSteps.set(position, hasError);
+        stepsWithData.set(position, hasData);
+        stepsData[position] = hasData ? data : null;
+        encodedStepsData[position] = null;
+        titles[position] = title;
+        subtitles[position] = subtitle;
+        buttonTexts[position] = buttonText;
+        errorMessages[position] = errorMessage;
+    }
+
+    /**
+     * Writes the captured state of a single step in its binary form.
+     *
+     * @param position The position of the step.
+     * @param codecs The codecs for the data of the steps.
+     * @param output The output where the state of the step will be written.
+     * @throws IOException If the state of the step cannot be written.
+     */
+    void writeStepState(int position, StepDataCodecs codecs, DataOutputStream output) throws IOException {
+        output.writeBoolean(completedSteps.get(position));
+        output.writeBoolean(errorSteps.get(position));
+        writeStepTexts(position, output);
+        output.writeBoolean(stepsWithData.get(position));
+        if (stepsWithData.get(position)) {
+            writeStepData(codecs.getStepDataCodec(position), stepsData[position], output);
+        }
+    }
+
+    /**
+     * Reads the state of a single step, as written by writeStepState(), into this snapshot.
+     *
+     * @param position The position of the step.
+     * @param codecs The codecs for the data of the steps.
+     * @param input The input from which the state of the step will be read.
+     * @throws IOException If the state of the step cannot be read.
+     */
+    void readStepState(int position, StepDataCodecs codecs, DataInputStream input) throws IOException {
+        completedSteps.set(position, input.readBoolean());
+        errorSteps.set(position, input.readBoolean());
+        readStepTexts(position, input);
+        boolean hasData = input.readBoolean();
+        stepsWithData.set(position, hasData);
+        stepsData[position] = hasData ? readStepData(codecs.getStepDataCodec(position), input) : null;
+        encodedStepsData[position] = null;
+    }
+
+    /**
+     * Writes the snapshot in its binary form.
+     *
+     * @param codecs The codecs for the data of the steps.
+     * @return The bytes of the snapshot.
+     * @throws IOException If the snapshot cannot be written.
+     */
+    byte[] toByteArray(StepDataCodecs codecs) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(bytes);
+
+        output.writeByte(VERSION);
+        output.writeInt(numberOfSteps);
+        output.writeInt(openStepPosition);
+        output.writeBoolean(formCompleted);
+        writeBitSet(completedSteps, output);
+        writeBitSet(errorSteps, output);
+        writeBitSet(stepsWithData, output);
+
+        for (int i = 0; i < numberOfSteps; i++) {
+            writeStepTexts(i, output);
+        }
+
+        ByteArrayOutputStream stepDataBytes = new ByteArrayOutputStream();
+        DataOutputStream stepDataOutput = new DataOutputStream(stepDataBytes);
+        for (int i = stepsWithData.nextSetBit(0); i >= 0 && i < numberOfSteps; i = stepsWithData.nextSetBit(i + 1)) {
+            if (encodedStepsData[i] == null) {
+                stepDataBytes.reset();
+                writeStepData(codecs.getStepDataCodec(i), stepsData[i], stepDataOutput);
+                stepDataOutput.flush();
+                encodedStepsData[i] = stepDataBytes.toByteArray();
+            }
+
+            output.writeInt(encodedStepsData[i].length);
+            output.write(encodedStepsData[i]);
+        }
+
+        output.flush();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Reads a snapshot from its binary form.
+     *
+     * @param snapshotBytes The bytes of the snapshot, as returned by toByteArray().
+     * @param numberOfSteps The number of steps of the form.
+     * @param codecs The codecs for the data of the steps.
+     * @return The snapshot.
+     * @throws IOException If the snapshot cannot be read.
+     * @throws StepCountMismatchException If the snapshot was taken from a form with a different
+     *                                    number of steps.
+     */
+    static FormStateSnapshot fromByteArray(byte[] snapshotBytes, int numberOfSteps, StepDataCodecs codecs) throws IOException {
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(snapshotBytes));
+
+        int version = input.readByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported form state snapshot version: " + version);
+        }
+
+        if (input.readInt() != numberOfSteps) {
+            throw new StepCountMismatchException();
+        }
+
+        FormStateSnapshot snapshot = new FormStateSnapshot(numberOfSteps);
+        snapshot.openStepPosition = input.readInt();
+        snapshot.formCompleted = input.readBoolean();
+        snapshot.completedSteps.or(readBitSet(input));
+        snapshot.errorSteps.or(readBitSet(input));
+        snapshot.stepsWithData.or(readBitSet(input));
+
+        for (int i = 0; i < numberOfSteps; i++) {
+            snapshot.readStepTexts(i, input);
+        }
+
+        BitSet stepsWithData = snapshot.stepsWithData;
+        for (int i = stepsWithData.nextSetBit(0); i >= 0 && i < numberOfSteps; i = stepsWithData.nextSetBit(i + 1)) {
+            byte[] stepDataBytes = new byte[input.readInt()];
+            input.readFully(stepDataBytes);
+
+            DataInputStream stepDataInput = new DataInputStream(new ByteArrayInputStream(stepDataBytes));
+            snapshot.stepsData[i] = readStepData(codecs.getStepDataCodec(i), stepDataInput);
+        }
+
+        return snapshot;
+    }
+
+    private void writeStepTexts(int position, DataOutputStream output) throws IOException {
+        int flags = (titles[position] != null ? FLAG_TITLE : 0)
+                | (subtitles[position] != null ? FLAG_SUBTITLE : 0)
+                | (buttonTexts[position] != null ? FLAG_BUTTON_TEXT : 0)
+                | (errorMessages[position] != null ? FLAG_ERROR_MESSAGE : 0);
+        output.writeByte(flags);
+        writeTextIfNotNull(titles[position], output);
+        writeTextIfNotNull(subtitles[position], output);
+        writeTextIfNotNull(buttonTexts[position], output);
+        writeTextIfNotNull(errorMessages[position], output);
+    }
+
+    private void readStepTexts(int position, DataInputStream input) throws IOException {
+        int flags = input.readUnsignedByte();
+        titles[position] = readTextIfFlagged(flags, FLAG_TITLE, input);
+        subtitles[position] = readTextIfFlagged(flags, FLAG_SUBTITLE, input);
+        buttonTexts[position] = readTextIfFlagged(flags, FLAG_BUTTON_TEXT, input);
+        errorMessages[position] = readTextIfFlagged(flags, FLAG_ERROR_MESSAGE, input);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void writeStepData(StepDataCodec<?> codec, Serializable data, DataOutputStream output) throws IOException {
+        if (codec != null) {
+            output.writeByte(DATA_ENCODED_WITH_CODEC);
+            ((StepDataCodec<Serializable>) codec).write(data, output);
+        } else {
+            output.writeByte(DATA_SERIALIZED);
+            ObjectOutputStream objectOutput = new ObjectOutputStream(output);
+            objectOutput.writeObject(data);
+            objectOutput.flush();
+        }
+    }
+
+    private static Serializable readStepData(StepDataCodec<?> codec, DataInputStream input) throws IOException {
+        int encoding = input.readByte();
+        if (encoding == DATA_ENCODED_WITH_CODEC) {
+            if (codec == null) {
+                throw new IOException("The data of the step was saved with a codec that is no longer available");
+            }
+
+            return codec.read(input);
+        }
+
+        try {
+            return (Serializable) new ObjectInputStream(input).readObject();
+        } catch (ClassNotFoundException e) {
+            throw new IOException("Unable to deserialize the data of the step", e);
+        }
+    }
+
+    private static void writeBitSet(BitSet bitSet, DataOutputStream output) throws IOException {
+        long[] words = bitSet.toLongArray();
+        output.writeInt(words.length);
+        for (long word : words) {
+            output.writeLong(word);
+        }
+    }
+
+    private static BitSet readBitSet(DataInputStream input) throws IOException {
+        long[] words = new long[input.readInt()];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = input.readLong();
+        }
+
+        return BitSet.valueOf(words);
+    }
+
+    private static void writeTextIfNotNull(String text, DataOutputStream output) throws IOException {
+        if (text != null) {
+            output.writeUTF(text);
+        }
+    }
+
+    private static String readTextIfFlagged(int flags, int flag, DataInputStream input) throws IOException {
+        return (flags & flag) != 0 ? input.readUTF() : null;
+    }
+
+    /**
+     * Thrown when a snapshot is read for a form whose number of steps doesn't match the one of
+     * the form the snapshot was taken from.
+     */
+    static class StepCountMismatchException extends IOException {
+
+        StepCountMismatchException() {
+            super("The form state snapshot doesn't match the number of steps of the form");
+        }
+    }
+
+    /**
+     * Provides the codecs for the data of the steps of the form.
+     */
+    interface StepDataCodecs {
+
+        /**
+         * Gets the codec for the data of a step.
+         *
+         * @param position The position of the step.
+         * @return The codec, or null if the data of the step is saved using Java serialization.
+         */
+        StepDataCodec<?> getStepDataCodec(int position);
+    }
+}
@@ -0,0 +1,25 @@
+package ernestoyaquello.com.verticalstepperform;
+
+/**
+ * Stores the state snapshots of the form that are too big to be kept in the saved instance state
+ * bundle, which would otherwise cause a TransactionTooLargeException. Only the handle returned by
+ * store() will be kept in the bundle.
+ */
+public interface FormStateSnapshotStore {
+
+    /**
+     * Stores a state snapshot of the form.
+     *
+     * @param snapshot The snapshot to store.
+     * @return The handle that will be used to retrieve the snapshot.
+     */
+    String store(byte[] snapshot);
+
+    /**
+     * Retrieves a state snapshot that was stored previously, removing it from the store.
+     *
+     * @param handle The handle returned by store() when the snapshot was stored.
+     * @return The snapshot, or null if it is no longer available.
+     */
+    byte[] retrieve(String handle);
+}
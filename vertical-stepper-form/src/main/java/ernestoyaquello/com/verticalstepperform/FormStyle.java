@@ -0,0 +1,560 @@
+package ernestoyaquello.com.verticalstepperform;
+
+import android.content.Context;
+import android.content.res.ColorStateList;
+import android.content.res.Configuration;
+import android.content.res.Resources;
+import android.graphics.ColorFilter;
+import android.graphics.PorterDuff;
+import android.graphics.PorterDuffColorFilter;
+import android.graphics.Typeface;
+import android.graphics.drawable.Drawable;
+import android.util.AttributeSet;
+import android.util.LongSparseArray;
+import android.util.LruCache;
+import android.util.SparseArray;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import androidx.core.content.ContextCompat;
+
+/**
+ * The immutable style of a form.
+ *
+ * Styles are created with FormStyle.Builder and shared by all the forms with the same style via
+ * share(). The styles read from the attributes of a form view are also cached, so the views that
+ * are constructed with the same attributes, theme and configuration don't read them again. The
+ * shared styles cache the resources derived from them, such as the color state lists of the
+ * buttons and the color filters of the step number circles, so they are created only once instead
+ * of once per step. Styles must only be accessed from the main thread.
+ */
+class FormStyle {
+
+    private static final int MAX_CACHED_ATTRIBUTE_STYLES = 16;
+
+    private static final int[][] BUTTON_STATES = new int[][]{
+            new int[]{android.R.attr.state_pressed},
+            new int[]{android.R.attr.state_focused},
+            new int[]{}
+    };
+
+    // The keys are held weakly, so the styles are discarded once no form is using them
+    private static final Map<FormStyle, WeakReference<FormStyle>> sharedStyles = new WeakHashMap<>();
+    private static final LruCache<AttributesKey, FormStyle> attributeStyles = new LruCache<>(MAX_CACHED_ATTRIBUTE_STYLES);
+
+    final String stepNextButtonText;
+    final String lastStepNextButtonText;
+    final String lastStepCancelButtonText;
+    final String confirmationStepTitle;
+    final String confirmationStepSubtitle;
+    final int leftCircleSizeInPx;
+    final int leftCircleTextSizeInPx;
+    final int stepTitleTextSizeInPx;
+    final int stepSubtitleTextSizeInPx;
+    final int stepErrorMessageTextSizeInPx;
+    final int leftVerticalLineThicknessSizeInPx;
+    final int marginFromStepNumbersToContentInPx;
+    final int backgroundColorOfDisabledElements;
+    final int stepNumberBackgroundColor;
+    final int stepNumberCompletedBackgroundColor;
+    final int stepNumberErrorBackgroundColor;
+    final int nextButtonBackgroundColor;
+    final int nextButtonPressedBackgroundColor;
+    final int lastStepCancelButtonBackgroundColor;
+    final int lastStepCancelButtonPressedBackgroundColor;
+    final int stepNumberTextColor;
+    final int stepTitleTextColor;
+    final int stepSubtitleTextColor;
+    final int nextButtonTextColor;
+    final int nextButtonPressedTextColor;
+    final int lastStepCancelButtonTextColor;
+    final int lastStepCancelButtonPressedTextColor;
+    final int errorMessageTextColor;
+    final int bottomNavigationBackgroundColor;
+    final boolean displayBottomNavigation;
+    final boolean displayStepButtons;
+    final boolean displayCancelButtonInLastStep;
+    final boolean displayNextButtonInLastStep;
+    final boolean displayStepDataInSubtitleOfClosedSteps;
+    final boolean displayDifferentBackgroundColorOnDisabledElements;
+    final boolean includeConfirmationStep;
+    final boolean allowNonLinearNavigation;
+    final boolean allowStepOpeningOnHeaderClick;
+    final boolean closeLastStepOnCompletion;
+    final boolean virtualizeStepViews;
+    final boolean createStepContentOnFirstOpening;
+    final boolean inflateStepLayoutsAsynchronously;
+    final int stepDataValidationDelayInMs;
+    final int maxStateSnapshotSizeInBundleInBytes;
+    final float alphaOfDisabledElements;
+    final Typeface stepNumberFontFamily;
+    final Typeface stepTitleFontFamily;
+    final Typeface stepSubtitleFontFamily;
+    final Typeface stepErrorMessageFontFamily;
+
+    private final int hashCode;
+    private LongSparseArray<ColorStateList> buttonColors;
+    private SparseArray<ColorFilter> colorFilters;
+    private Drawable.ConstantState stepNumberCircleDrawableState;
+    private Configuration stepNumberCircleDrawableConfiguration;
+
+    private FormStyle(Builder builder) {
+        this.stepNextButtonText = builder.stepNextButtonText;
+        this.lastStepNextButtonText = builder.lastStepNextButtonText;
+        this.lastStepCancelButtonText = builder.lastStepCancelButtonText;
+        this.confirmationStepTitle = builder.confirmationStepTitle;
+        this.confirmationStepSubtitle = builder.confirmationStepSubtitle;
+        this.leftCircleSizeInPx = builder.leftCircleSizeInPx;
+        this.leftCircleTextSizeInPx = builder.leftCircleTextSizeInPx;
+        this.stepTitleTextSizeInPx = builder.stepTitleTextSizeInPx;
+        this.stepSubtitleTextSizeInPx = builder.stepSubtitleTextSizeInPx;
+        this.stepErrorMessageTextSizeInPx = builder.stepErrorMessageTextSizeInPx;
+        this.leftVerticalLineThicknessSizeInPx = builder.leftVerticalLineThicknessSizeInPx;
+        this.marginFromStepNumbersToContentInPx = builder.marginFromStepNumbersToContentInPx;
+        this.backgroundColorOfDisabledElements = builder.backgroundColorOfDisabledElements;
+        this.stepNumberBackgroundColor = builder.stepNumberBackgroundColor;
+        this.stepNumberCompletedBackgroundColor = builder.stepNumberCompletedBackgroundColor;
+        this.stepNumberErrorBackgroundColor = builder.stepNumberErrorBackgroundColor;
+        this.nextButtonBackgroundColor = builder.nextButtonBackgroundColor;
+        this.nextButtonPressedBackgroundColor = builder.nextButtonPressedBackgroundColor;
+        this.lastStepCancelButtonBackgroundColor = builder.lastStepCancelButtonBackgroundColor;
+        this.lastStepCancelButtonPressedBackgroundColor = builder.lastStepCancelButtonPressedBackgroundColor;
+        this.stepNumberTextColor = builder.stepNumberTextColor;
+        this.stepTitleTextColor = builder.stepTitleTextColor;
+        this.stepSubtitleTextColor = builder.stepSubtitleTextColor;
+        this.nextButtonTextColor = builder.nextButtonTextColor;
+        this.nextButtonPressedTextColor = builder.nextButtonPressedTextColor;
+        this.lastStepCancelButtonTextColor = builder.lastStepCancelButtonTextColor;
+        this.lastStepCancelButtonPressedTextColor = builder.lastStepCancelButtonPressedTextColor;
+        this.errorMessageTextColor = builder.errorMessageTextColor;
+        this.bottomNavigationBackgroundColor = builder.bottomNavigationBackgroundColor;
+        this.displayBottomNavigation = builder.displayBottomNavigation;
+        this.displayStepButtons = builder.displayStepButtons;
+        this.displayCancelButtonInLastStep = builder.displayCancelButtonInLastStep;
+        this.displayNextButtonInLastStep = builder.displayNextButtonInLastStep;
+        this.displayStepDataInSubtitleOfClosedSteps = builder.displayStepDataInSubtitleOfClosedSteps;
+        this.displayDifferentBackgroundColorOnDisabledElements = builder.displayDifferentBackgroundColorOnDisabledElements;
+        this.includeConfirmationStep = builder.includeConfirmationStep;
+        this.allowNonLinearNavigation = builder.allowNonLinearNavigation;
+        this.allowStepOpeningOnHeaderClick = builder.allowStepOpeningOnHeaderClick;
+        this.closeLastStepOnCompletion = builder.closeLastStepOnCompletion;
+        this.virtualizeStepViews = builder.virtualizeStepViews;
+        this.createStepContentOnFirstOpening = builder.createStepContentOnFirstOpening;
+        this.inflateStepLayoutsAsynchronously = builder.inflateStepLayoutsAsynchronously;
+        this.stepDataValidationDelayInMs = builder.stepDataValidationDelayInMs;
+        this.maxStateSnapshotSizeInBundleInBytes = builder.maxStateSnapshotSizeInBundleInBytes;
+        this.alphaOfDisabledElements = builder.alphaOfDisabledElements;
+        this.stepNumberFontFamily = builder.stepNumberFontFamily;
+        this.stepTitleFontFamily = builder.stepTitleFontFamily;
+        this.stepSubtitleFontFamily = builder.stepSubtitleFontFamily;
+        this.stepErrorMessageFontFamily = builder.stepErrorMessageFontFamily;
+        this.hashCode = Arrays.hashCode(getValues());
+    }
+
+    /**
+     * Gets the shared copy of the specified style, which will be the style itself if there was none.
+     *
+     * @param style The style.
+     * @return The shared copy of the style.
+     */
+    static FormStyle share(FormStyle style) {
+        WeakReference<FormStyle> sharedStyleReference = sharedStyles.get(style);
+        FormStyle sharedStyle = sharedStyleReference != null ? sharedStyleReference.get() : null;
+        if (sharedStyle == null) {
+            sharedStyle = style;
+            sharedStyles.put(sharedStyle, new WeakReference<>(sharedStyle));
+        }
+
+        return sharedStyle;
+    }
+
+    /**
+     * Gets the style that was read previously from the specified attributes, if any.
+     *
+     * @param key The key that identifies the attributes, as returned by AttributesKey.create().
+     * @return The shared style, or null if it hasn't been read yet.
+     */
+    static FormStyle getStyleForAttributes(AttributesKey key) {
+        return attributeStyles.get(key);
+    }
+
+    /**
+     * Shares the style that has been read from the specified attributes and caches it, so it
+     * doesn't need to be read again for other views with the same attributes.
+     *
+     * @param key The key that identifies the attributes, as returned by AttributesKey.create().
+     * @param style The style read from the attributes.
+     * @return The shared copy of the style.
+     */
+    static FormStyle shareStyleForAttributes(AttributesKey key, FormStyle style) {
+        FormStyle sharedStyle = share(style);
+        attributeStyles.put(key, sharedStyle);
+
+        return sharedStyle;
+    }
+
+    /**
+     * Creates a builder whose values are the ones of this style.
+     *
+     * @return The builder.
+     */
+    Builder toBuilder() {
+        Builder builder = new Builder();
+        builder.stepNextButtonText = stepNextButtonText;
+        builder.lastStepNextButtonText = lastStepNextButtonText;
+        builder.lastStepCancelButtonText = lastStepCancelButtonText;
+        builder.confirmationStepTitle = confirmationStepTitle;
+        builder.confirmationStepSubtitle = confirmationStepSubtitle;
+        builder.leftCircleSizeInPx = leftCircleSizeInPx;
+        builder.leftCircleTextSizeInPx = leftCircleTextSizeInPx;
+        builder.stepTitleTextSizeInPx = stepTitleTextSizeInPx;
+        builder.stepSubtitleTextSizeInPx = stepSubtitleTextSizeInPx;
+        builder.stepErrorMessageTextSizeInPx = stepErrorMessageTextSizeInPx;
+        builder.leftVerticalLineThicknessSizeInPx = leftVerticalLineThicknessSizeInPx;
+        builder.marginFromStepNumbersToContentInPx = marginFromStepNumbersToContentInPx;
+        builder.backgroundColorOfDisabledElements = backgroundColorOfDisabledElements;
+        builder.stepNumberBackgroundColor = stepNumberBackgroundColor;
+        builder.stepNumberCompletedBackgroundColor = stepNumberCompletedBackgroundColor;
+        builder.stepNumberErrorBackgroundColor = stepNumberErrorBackgroundColor;
+        builder.nextButtonBackgroundColor = nextButtonBackgroundColor;
+        builder.nextButtonPressedBackgroundColor = nextButtonPressedBackgroundColor;
+        builder.lastStepCancelButtonBackgroundColor = lastStepCancelButtonBackgroundColor;
+        builder.lastStepCancelButtonPressedBackgroundColor = lastStepCancelButtonPressedBackgroundColor;
+        builder.stepNumberTextColor = stepNumberTextColor;
+        builder.stepTitleTextColor = stepTitleTextColor;
+        builder.stepSubtitleTextColor = stepSubtitleTextColor;
+        builder.nextButtonTextColor = nextButtonTextColor;
+        builder.nextButtonPressedTextColor = nextButtonPressedTextColor;
+        builder.lastStepCancelButtonTextColor = lastStepCancelButtonTextColor;
+        builder.lastStepCancelButtonPressedTextColor = lastStepCancelButtonPressedTextColor;
+        builder.errorMessageTextColor = errorMessageTextColor;
+        builder.bottomNavigationBackgroundColor = bottomNavigationBackgroundColor;
+        builder.displayBottomNavigation = displayBottomNavigation;
+        builder.displayStepButtons = displayStepButtons;
+        builder.displayCancelButtonInLastStep = displayCancelButtonInLastStep;
+        builder.displayNextButtonInLastStep = displayNextButtonInLastStep;
+        builder.displayStepDataInSubtitleOfClosedSteps = displayStepDataInSubtitleOfClosedSteps;
+        builder.displayDifferentBackgroundColorOnDisabledElements = displayDifferentBackgroundColorOnDisabledElements;
+        builder.includeConfirmationStep = includeConfirmationStep;
+        builder.allowNonLinearNavigation = allowNonLinearNavigation;
+        builder.allowStepOpeningOnHeaderClick = allowStepOpeningOnHeaderClick;
+        builder.closeLastStepOnCompletion = closeLastStepOnCompletion;
+        builder.virtualizeStepViews = virtualizeStepViews;
+        builder.createStepContentOnFirstOpening = createStepContentOnFirstOpening;
+        builder.inflateStepLayoutsAsynchronously = inflateStepLayoutsAsynchronously;
+        builder.stepDataValidationDelayInMs = stepDataValidationDelayInMs;
+        builder.maxStateSnapshotSizeInBundleInBytes = maxStateSnapshotSizeInBundleInBytes;
+        builder.alphaOfDisabledElements = alphaOfDisabledElements;
+        builder.stepNumberFontFamily = stepNumberFontFamily;
+        builder.stepTitleFontFamily = stepTitleFontFamily;
+        builder.stepSubtitleFontFamily = stepSubtitleFontFamily;
+        builder.stepErrorMessageFontFamily = stepErrorMessageFontFamily;
+
+        return builder;
+    }
+
+    /**
+     * Gets the color state list of a button, creating it only the first time it is requested.
+     *
+     * @param color The color of the button.
+     * @param pressedColor The color of the button when it is pressed or focused.
+     * @return The color state list.
+     */
+    ColorStateList getButtonColors(int color, int pressedColor) {
+        if (buttonColors == null) {
+            buttonColors = new LongSparseArray<>();
+        }
+
+        long key = ((long) pressedColor << 32) | (color & 0xffffffffL);
+        ColorStateList colors = buttonColors.get(key);
+        if (colors == null) {
+            colors = new ColorStateList(BUTTON_STATES, new int[]{pressedColor, pressedColor, color});
+            buttonColors.put(key, colors);
+        }
+
+        return colors;
+    }
+
+    /**
+     * Gets the color filter that tints a drawable with the specified color, creating it only the
+     * first time it is requested.
+     *
+     * @param color The color.
+     * @return The color filter.
+     */
+    ColorFilter getColorFilter(int color) {
+        if (colorFilters == null) {
+            colorFilters = new SparseArray<>();
+        }
+
+        ColorFilter colorFilter = colorFilters.get(color);
+        if (colorFilter == null) {
+            colorFilter = new PorterDuffColorFilter(color, PorterDuff.Mode.SRC_IN);
+            colorFilters.put(color, colorFilter);
+        }
+
+        return colorFilter;
+    }
+
+    /**
+     * Creates the drawable of the circle that displays the number of a step. The drawable is
+     * created from a cached constant state, so the resource is only loaded once per configuration.
+     *
+     * @param context The context.
+     * @return A mutable drawable that can be tinted independently of the ones of other steps.
+     */
+    Drawable createStepNumberCircleDrawable(Context context) {
+        Resources resources = context.getResources();
+        Configuration configuration = resources.getConfiguration();
+        if (stepNumberCircleDrawableState == null || !configuration.equals(stepNumberCircleDrawableConfiguration)) {
+            Drawable drawable = ContextCompat.getDrawable(context, R.drawable.circle_step_done);
+            if (drawable.getConstantState() == null) {
+                return drawable.mutate();
+            }
+            stepNumberCircleDrawableState = drawable.getConstantState();
+            stepNumberCircleDrawableConfiguration = new Configuration(configuration);
+        }
+
+        return stepNumberCircleDrawableState.newDrawable(resources).mutate();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof FormStyle)) {
+            return false;
+        }
+
+        FormStyle otherStyle = (FormStyle) other;
+        return hashCode == otherStyle.hashCode && Arrays.equals(getValues(), otherStyle.getValues());
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    private Object[] getValues() {
+        return new Object[]{
+                stepNextButtonText,
+                lastStepNextButtonText,
+                lastStepCancelButtonText,
+                confirmationStepTitle,
+                confirmationStepSubtitle,
+                leftCircleSizeInPx,
+                leftCircleTextSizeInPx,
+                stepTitleTextSizeInPx,
+                stepSubtitleTextSizeInPx,
+                stepErrorMessageTextSizeInPx,
+                leftVerticalLineThicknessSizeInPx,
+                marginFromStepNumbersToContentInPx,
+                backgroundColorOfDisabledElements,
+                stepNumberBackgroundColor,
+                stepNumberCompletedBackgroundColor,
+                stepNumberErrorBackgroundColor,
+                nextButtonBackgroundColor,
+                nextButtonPressedBackgroundColor,
+                lastStepCancelButtonBackgroundColor,
+                lastStepCancelButtonPressedBackgroundColor,
+                stepNumberTextColor,
+                stepTitleTextColor,
+                stepSubtitleTextColor,
+                nextButtonTextColor,
+                nextButtonPressedTextColor,
+                lastStepCancelButtonTextColor,
+                lastStepCancelButtonPressedTextColor,
+                errorMessageTextColor,
+                bottomNavigationBackgroundColor,
+                displayBottomNavigation,
+                displayStepButtons,
+                displayCancelButtonInLastStep,
+                displayNextButtonInLastStep,
+                displayStepDataInSubtitleOfClosedSteps,
+                displayDifferentBackgroundColorOnDisabledElements,
+                includeConfirmationStep,
+                allowNonLinearNavigation,
+                allowStepOpeningOnHeaderClick,
+                closeLastStepOnCompletion,
+                virtualizeStepViews,
+                createStepContentOnFirstOpening,
+                inflateStepLayoutsAsynchronously,
+                stepDataValidationDelayInMs,
+                maxStateSnapshotSizeInBundleInBytes,
+                alphaOfDisabledElements,
+                stepNumberFontFamily,
+                stepTitleFontFamily,
+                stepSubtitleFontFamily,
+                stepErrorMessageFontFamily
+        };
+    }
+
+    /**
+     * Holds the values of a style while it is being set up.
+     */
+    static class Builder {
+
+        String stepNextButtonText;
+        String lastStepNextButtonText;
+        String lastStepCancelButtonText;
+        String confirmationStepTitle;
+        String confirmationStepSubtitle;
+        int leftCircleSizeInPx;
+        int leftCircleTextSizeInPx;
+        int stepTitleTextSizeInPx;
+        int stepSubtitleTextSizeInPx;
+        int stepErrorMessageTextSizeInPx;
+        int leftVerticalLineThicknessSizeInPx;
+        int marginFromStepNumbersToContentInPx;
+        int backgroundColorOfDisabledElements;
+        int stepNumberBackgroundColor;
+        int stepNumberCompletedBackgroundColor;
+        int stepNumberErrorBackgroundColor;
+        int nextButtonBackgroundColor;
+        int nextButtonPressedBackgroundColor;
+        int lastStepCancelButtonBackgroundColor;
+        int lastStepCancelButtonPressedBackgroundColor;
+        int stepNumberTextColor;
+        int stepTitleTextColor;
+        int stepSubtitleTextColor;
+        int nextButtonTextColor;
+        int nextButtonPressedTextColor;
+        int lastStepCancelButtonTextColor;
+        int lastStepCancelButtonPressedTextColor;
+        int errorMessageTextColor;
+        int bottomNavigationBackgroundColor;
+        boolean displayBottomNavigation;
+        boolean displayStepButtons;
+        boolean displayCancelButtonInLastStep;
+        boolean displayNextButtonInLastStep;
+        boolean displayStepDataInSubtitleOfClosedSteps;
+        boolean displayDifferentBackgroundColorOnDisabledElements;
+        boolean includeConfirmationStep;
+        boolean allowNonLinearNavigation;
+        boolean allowStepOpeningOnHeaderClick;
+        boolean closeLastStepOnCompletion;
+        boolean virtualizeStepViews;
+        boolean createStepContentOnFirstOpening;
+        boolean inflateStepLayoutsAsynchronously;
+        int stepDataValidationDelayInMs;
+        int maxStateSnapshotSizeInBundleInBytes;
+        float alphaOfDisabledElements;
+        Typeface stepNumberFontFamily;
+        Typeface stepTitleFontFamily;
+        Typeface stepSubtitleFontFamily;
+        Typeface stepErrorMessageFontFamily;
+
+        /**
+         * Creates the style.
+         *
+         * @return The style, which won't be shared until share() is called.
+         */
+        FormStyle build() {
+            return new FormStyle(this);
+        }
+    }
+
+    /**
+     * Identifies the attributes of a form view, together with the theme and the configuration
+     * used to resolve them, so the style read from them can be reused by other views.
+     */
+    static final class AttributesKey {
+
+        private final Resources.Theme theme;
+        private final Configuration configuration;
+        private final int defStyleAttr;
+        private final int styleAttribute;
+        private final int[] attributeNames;
+        private final String[] attributeValues;
+        private final int hashCode;
+
+        private AttributesKey(Resources.Theme theme, Configuration configuration, int defStyleAttr,
+                              int styleAttribute, int[] attributeNames, String[] attributeValues) {
+            this.theme = theme;
+            this.configuration = configuration;
+            this.defStyleAttr = defStyleAttr;
+            this.styleAttribute = styleAttribute;
+            this.attributeNames = attributeNames;
+            this.attributeValues = attributeValues;
+            this.hashCode = Arrays.hashCode(new Object[]{
+                    theme,
+                    configuration,
+                    defStyleAttr,
+                    styleAttribute,
+                    Arrays.hashCode(attributeNames),
+                    Arrays.hashCode(attributeValues)
+            });
+        }
+
+        /**
+         * Creates the key of the specified attributes. Only the unresolved values of the
+         * attributes of the form are taken into account, so reading the key is cheap.
+         *
+         * @param context The context of the view.
+         * @param attrs The attributes of the view, if any.
+         * @param defStyleAttr The default style attribute of the view.
+         * @param formAttributes The attributes of the form (i.e., R.styleable.VerticalStepperFormView).
+         * @return The key.
+         */
+        static AttributesKey create(Context context, AttributeSet attrs, int defStyleAttr, int[] formAttributes) {
+            int numberOfAttributes = attrs != null ? attrs.getAttributeCount() : 0;
+            int[] attributeNames = new int[numberOfAttributes];
+            String[] attributeValues = new String[numberOfAttributes];
+            int numberOfFormAttributes = 0;
+            for (int i = 0; i < numberOfAttributes; i++) {
+                int attributeName = attrs.getAttributeNameResource(i);
+                if (contains(formAttributes, attributeName)) {
+                    attributeNames[numberOfFormAttributes] = attributeName;
+                    attributeValues[numberOfFormAttributes] = attrs.getAttributeValue(i);
+                    numberOfFormAttributes++;
+                }
+            }
+
+            return new AttributesKey(
+                    context.getTheme(),
+                    new Configuration(context.getResources().getConfiguration()),
+                    defStyleAttr,
+                    attrs != null ? attrs.getStyleAttribute() : 0,
+                    Arrays.copyOf(attributeNames, numberOfFormAttributes),
+                    Arrays.copyOf(attributeValues, numberOfFormAttributes));
+        }
+
+        private static boolean contains(int[] values, int value) {
+            for (int candidate : values) {
+                if (candidate == value) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof AttributesKey)) {
+                return false;
+            }
+
+            AttributesKey otherKey = (AttributesKey) other;
+            return hashCode == otherKey.hashCode
+                    && defStyleAttr == otherKey.defStyleAttr
+                    && styleAttribute == otherKey.styleAttribute
+                    && theme.equals(otherKey.theme)
+                    && configuration.equals(otherKey.configuration)
+                    && Arrays.equals(attributeNames, otherKey.attributeNames)
+                    && Arrays.equals(attributeValues, otherKey.attributeValues);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -0,0 +1,441 @@
+package ernestoyaquello.com.verticalstepperform;
+
+import android.graphics.Rect;
+import android.view.Choreographer;
+import android.view.Display;
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.ViewParent;
+import android.view.ViewTreeObserver;
+import android.view.animation.AccelerateDecelerateInterpolator;
+import android.view.animation.Interpolator;
+import android.widget.ScrollView;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import androidx.recyclerview.widget.RecyclerView;
+
+/**
+ * Drives the slide animations used to expand and collapse the views of the steps.
+ *
+ * Instead of changing the height of the sliding views on every frame, which would require the
+ * entire content of the form to be laid out again on each frame, the sliding views are laid out
+ * only once with their final height, and then they are revealed or hidden by animating their clip
+ * bounds, while the views placed below them are moved by animating their translation. This way,
+ * a layout pass is only needed at the start and at the end of each animation.
+ *
+ * All the running animations of a form are driven from a single Choreographer frame callback.
+ * The animation state of each view is kept in a tag of the view and reused for every slide, so the
+ * engine only holds references to views while they are being animated.
+ * It must only be used from the main thread.
+ */
+class SlideAnimationEngine implements Choreographer.FrameCallback {
+
+    private static final long MIN_DURATION_MILLIS = 150;
+    private static final float DEFAULT_REFRESH_RATE = 60f;
+
+    private final FormMetrics metrics;
+    private final Interpolator interpolator;
+    private final List<SlideAnimation> runningAnimations;
+    private final List<SlideAnimation> finishedAnimations;
+    private final List<View> movedViews;
+    private boolean frameCallbackPosted;
+    private int updateId;
+
+    // Frame statistics of the animations that are currently running
+    private long frameIntervalNanos;
+    private long lastFrameTimeNanos;
+    private int frameCount;
+    private int droppedFrameCount;
+
+    SlideAnimationEngine(FormMetrics metrics) {
+        this.metrics = metrics;
+        interpolator = new AccelerateDecelerateInterpolator();
+        runningAnimations = new ArrayList<>();
+        finishedAnimations = new ArrayList<>();
+        movedViews = new ArrayList<>();
+    }
+
+    void slideDownIfNecessary(View view, boolean animate) {
+        slide(view, false, animate);
+    }
+
+    void slideUpIfNecessary(View view, boolean animate) {
+        slide(view, true, animate);
+    }
+
+    /**
+     * Ends all the running animations right away, releasing the animated views.
+     */
+    void endAllAnimations() {
+        for (SlideAnimation animation : runningAnimations) {
+            animation.running = false;
+            onSlidingFinished(animation.view, animation.slideUp);
+        }
+        runningAnimations.clear();
+        updateAnimatedViews();
+
+        if (frameCallbackPosted) {
+            frameCallbackPosted = false;
+            Choreographer.getInstance().removeFrameCallback(this);
+        }
+        onAnimationsFinished();
+    }
+
+    /**
+     * Discards the cached expanded heights of the sliding views that contain the specified view,
+     * so they are measured again the next time they slide. It must be called when the content of
+     * the view changes, as the views that are collapsed are not laid out and hence there is no
+     * other way to know that their height has changed.
+     *
+     * @param changedView The view whose content has changed.
+     */
+    static void invalidateExpandedHeights(View changedView) {
+        View view = changedView;
+        while (view != null) {
+            SlideAnimation animation = (SlideAnimation) view.getTag(R.id.vertical_stepper_form_slide_animation);
+            if (animation != null) {
+                animation.expandedHeight = -1;
+            }
+
+            ViewParent parent = view.getParent();
+            view = parent instanceof View ? (View) parent : null;
+        }
+    }
+
+    private void slide(View view, boolean slideUp, boolean animate) {
+        SlideAnimation animation = (SlideAnimation) view.getTag(R.id.vertical_stepper_form_slide_animation);
+        boolean wasRunning = animation != null && animation.running;
+        if (wasRunning) {
+            animation.running = false;
+            runningAnimations.remove(animation);
+        }
+
+        if (!animate) {
+            onSlidingFinished(view, slideUp);
+            updateAnimatedViews();
+
+            return;
+        }
+
+        if (animation == null) {
+            animation = new SlideAnimation(view);
+            view.setTag(R.id.vertical_stepper_form_slide_animation, animation);
+        }
+        int expandedHeight = animation.getExpandedHeight();
+
+        // If the view was already sliding, the new animation continues from where that one was
+        float initialValue;
+        if (wasRunning) {
+            initialValue = animation.value;
+        } else {
+            boolean collapsed = view.getVisibility() == View.GONE || view.getLayoutParams().height == 0;
+            initialValue = collapsed ? 0 : 1;
+        }
+        float finalValue = slideUp ? 0 : 1;
+        if (initialValue == finalValue) {
+
+            // No need to animate anything because initial value and final value match
+            onSlidingFinished(view, slideUp);
+            updateAnimatedViews();
+            return;
+        }
+
+        float density = view.getContext().getResources().getDisplayMetrics().density;
+        long durationMillis = ((int) (expandedHeight * (Math.abs(finalValue - initialValue)) / density)) * 2;
+        durationMillis = durationMillis < MIN_DURATION_MILLIS ? MIN_DURATION_MILLIS : durationMillis;
+
+        // The view is laid out with its final height during the whole animation
+        setViewHeight(view, ViewGroup.LayoutParams.WRAP_CONTENT);
+        view.setVisibility(View.VISIBLE);
+
+        animation.start(slideUp, initialValue, finalValue, durationMillis);
+        runningAnimations.add(animation);
+
+        // The initial state of the animation is applied once the new layout is ready, right before
+        // it gets drawn, so the views below the sliding one don't jump to their final position
+        animation.waitForNextDraw();
+
+        if (frameIntervalNanos == 0) {
+            Display display = view.getDisplay();
+            float refreshRate = display != null && display.getRefreshRate() > 0
+                    ? display.getRefreshRate()
+                    : DEFAULT_REFRESH_RATE;
+            frameIntervalNanos = (long) (1000000000L / refreshRate);
+        }
+
+        if (!frameCallbackPosted) {
+            frameCallbackPosted = true;
+            Choreographer.getInstance().postFrameCallback(this);
+        }
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        frameCallbackPosted = false;
+        long startTimeNanos = FormMetrics.beginSection(FormMetrics.SECTION_ANIMATION_FRAME);
+
+        // Any frame that should have been rendered between this one and the previous one was dropped
+        if (lastFrameTimeNanos > 0 && frameIntervalNanos > 0) {
+            long missedFrames = Math.round((frameTimeNanos - lastFrameTimeNanos) / (double) frameIntervalNanos) - 1;
+            droppedFrameCount += missedFrames > 0 ? missedFrames : 0;
+        }
+        lastFrameTimeNanos = frameTimeNanos;
+        frameCount++;
+
+        for (int i = 0; i < runningAnimations.size(); i++) {
+            SlideAnimation animation = runningAnimations.get(i);
+            if (animation.startTimeNanos < 0) {
+                animation.startTimeNanos = frameTimeNanos;
+            }
+
+            float fraction = (frameTimeNanos - animation.startTimeNanos) / (float) animation.durationNanos;
+            fraction = fraction > 1 ? 1 : fraction;
+            float interpolatedFraction = interpolator.getInterpolation(fraction);
+            animation.value = animation.initialValue + (animation.finalValue - animation.initialValue) * interpolatedFraction;
+            if (fraction >= 1) {
+                finishedAnimations.add(animation);
+            }
+        }
+
+        for (int i = 0; i < finishedAnimations.size(); i++) {
+            SlideAnimation animation = finishedAnimations.get(i);
+            animation.running = false;
+            runningAnimations.remove(animation);
+            onSlidingFinished(animation.view, animation.slideUp);
+        }
+        finishedAnimations.clear();
+
+        updateAnimatedViews();
+
+        if (!runningAnimations.isEmpty()) {
+            frameCallbackPosted = true;
+            Choreographer.getInstance().postFrameCallback(this);
+        }
+        FormMetrics.endSection(startTimeNanos);
+
+        if (runningAnimations.isEmpty()) {
+            onAnimationsFinished();
+        }
+    }
+
+    private void onAnimationsFinished() {
+        if (frameCount > 0) {
+            metrics.onAnimationsFinished(frameCount, droppedFrameCount);
+        }
+        frameIntervalNanos = 0;
+        lastFrameTimeNanos = 0;
+        frameCount = 0;
+        droppedFrameCount = 0;
+    }
+
+    private void updateAnimatedViews() {
+        updateId++;
+
+        for (int i = 0; i < runningAnimations.size(); i++) {
+            SlideAnimation animation = runningAnimations.get(i);
+            View view = animation.view;
+            int fullHeight = view.getHeight();
+            int visibleHeight = (int) (fullHeight * animation.value);
+
+            view.setAlpha(animation.value);
+            animation.clipBounds.set(0, 0, view.getWidth(), visibleHeight);
+            view.setClipBounds(animation.clipBounds);
+
+            addTranslationOffsetToViewsBelow(view, visibleHeight - fullHeight);
+        }
+
+        // The views that are no longer affected by any animation get their translation restored,
+        // while the rest are moved according to the animations that affect them
+        for (int i = movedViews.size() - 1; i >= 0; i--) {
+            View movedView = movedViews.get(i);
+            SlideTranslation translation = (SlideTranslation) movedView.getTag(R.id.vertical_stepper_form_slide_translation);
+            if (translation.updateId != updateId) {
+                movedView.setTranslationY(translation.originalTranslation);
+                translation.moved = false;
+                movedViews.remove(i);
+            } else {
+                movedView.setTranslationY(translation.originalTranslation + translation.offset);
+            }
+        }
+    }
+
+    private void addTranslationOffsetToViewsBelow(View view, float offset) {
+        if (offset == 0) {
+            return;
+        }
+
+        // We move the views placed below the sliding one at every level of the hierarchy, stopping
+        // at the scrolling container of the form
+        View child = view;
+        ViewParent parent = view.getParent();
+        while (parent instanceof ViewGroup) {
+            ViewGroup group = (ViewGroup) parent;
+            for (int i = 0; i < group.getChildCount(); i++) {
+                View sibling = group.getChildAt(i);
+                if (sibling != child && sibling.getVisibility() != View.GONE && sibling.getTop() >= child.getBottom()) {
+                    addTranslationOffset(sibling, offset);
+                }
+            }
+
+            if (group instanceof ScrollView || group instanceof RecyclerView) {
+                break;
+            }
+
+            child = group;
+            parent = group.getParent();
+        }
+    }
+
+    private void addTranslationOffset(View view, float offset) {
+        SlideTranslation translation = (SlideTranslation) view.getTag(R.id.vertical_stepper_form_slide_translation);
+        if (translation == null) {
+            translation = new SlideTranslation();
+            view.setTag(R.id.vertical_stepper_form_slide_translation, translation);
+        }
+
+        if (!translation.moved) {
+            translation.moved = true;
+            translation.originalTranslation = view.getTranslationY();
+            movedViews.add(view);
+        }
+        if (translation.updateId != updateId) {
+            translation.updateId = updateId;
+            translation.offset = 0;
+        }
+        translation.offset += offset;
+    }
+
+    private static void onSlidingFinished(View view, boolean slideUp) {
+        setViewHeight(view, slideUp ? 0 : ViewGroup.LayoutParams.WRAP_CONTENT);
+        view.setAlpha(slideUp ? 0f : 1f);
+        view.setVisibility(slideUp ? View.GONE : View.VISIBLE);
+        view.setClipBounds(null);
+    }
+
+    private static void setViewHeight(View view, int newHeight) {
+        ViewGroup.LayoutParams layoutParams = view.getLayoutParams();
+        if (layoutParams.height != newHeight) {
+            layoutParams.height = newHeight;
+            view.setLayoutParams(layoutParams);
+        }
+    }
+
+    /**
+     * The animation state of a sliding view, which is reused every time the view slides.
+     */
+    private class SlideAnimation implements ViewTreeObserver.OnPreDrawListener, View.OnLayoutChangeListener {
+
+        final View view;
+        final Rect clipBounds;
+        boolean slideUp;
+        float initialValue;
+        float finalValue;
+        long durationNanos;
+        long startTimeNanos;
+        float value;
+        boolean running;
+        private boolean waitingForNextDraw;
+        private int expandedHeight;
+        private int expandedWidth;
+
+        SlideAnimation(View view) {
+            this.view = view;
+            this.clipBounds = new Rect();
+            this.expandedHeight = -1;
+            this.expandedWidth = -1;
+
+            view.addOnLayoutChangeListener(this);
+        }
+
+        /**
+         * Gets the height of the view when expanded. The height is only measured again if the
+         * available width has changed or if the content of the view has changed (see
+         * invalidateExpandedHeights()) since the last time the view was measured or laid out while
+         * expanded.
+         */
+        int getExpandedHeight() {
+            int width = getAvailableWidth();
+            if (expandedHeight < 0 || width != expandedWidth) {
+                int widthMeasureSpec = width >= 0
+                        ? View.MeasureSpec.makeMeasureSpec(width, View.MeasureSpec.EXACTLY)
+                        : View.MeasureSpec.makeMeasureSpec(0, View.MeasureSpec.UNSPECIFIED);
+                int heightMeasureSpec = View.MeasureSpec.makeMeasureSpec(0, View.MeasureSpec.UNSPECIFIED);
+                view.measure(widthMeasureSpec, heightMeasureSpec);
+                expandedHeight = view.getMeasuredHeight();
+                expandedWidth = width;
+            }
+
+            return expandedHeight;
+        }
+
+        private int getAvailableWidth() {
+            ViewParent parent = view.getParent();
+            if (!(parent instanceof View) || ((View) parent).getWidth() == 0) {
+                return -1;
+            }
+
+            View parentView = (View) parent;
+            int width = parentView.getWidth() - parentView.getPaddingLeft() - parentView.getPaddingRight();
+            ViewGroup.LayoutParams layoutParams = view.getLayoutParams();
+            if (layoutParams instanceof ViewGroup.MarginLayoutParams) {
+                ViewGroup.MarginLayoutParams marginLayoutParams = (ViewGroup.MarginLayoutParams) layoutParams;
+                width -= marginLayoutParams.leftMargin + marginLayoutParams.rightMargin;
+            }
+
+            return Math.max(width, 0);
+        }
+
+        @Override
+        public void onLayoutChange(View view, int left, int top, int right, int bottom,
+                                   int oldLeft, int oldTop, int oldRight, int oldBottom) {
+            // While the view is expanded (or sliding), it is laid out with its expanded height, so
+            // the layout gives us the up-to-date height without having to measure the view
+            if (view.getVisibility() == View.VISIBLE
+                    && view.getLayoutParams().height == ViewGroup.LayoutParams.WRAP_CONTENT) {
+                expandedHeight = bottom - top;
+                expandedWidth = getAvailableWidth();
+            }
+        }
+
+        void start(boolean slideUp, float initialValue, float finalValue, long durationMillis) {
+            this.slideUp = slideUp;
+            this.initialValue = initialValue;
+            this.finalValue = finalValue;
+            this.durationNanos = durationMillis * 1000000L;
+            this.startTimeNanos = -1;
+            this.value = initialValue;
+            this.running = true;
+        }
+
+        void waitForNextDraw() {
+            if (!waitingForNextDraw) {
+                waitingForNextDraw = true;
+                view.getViewTreeObserver().addOnPreDrawListener(this);
+            }
+        }
+
+        @Override
+        public boolean onPreDraw() {
+            waitingForNextDraw = false;
+            view.getViewTreeObserver().removeOnPreDrawListener(this);
+            if (running) {
+                updateAnimatedViews();
+            }
+
+            return true;
+        }
+    }
+
+    /**
+     * The translation applied to a view placed below one or more sliding views.
+     */
+    private static class SlideTranslation {
+
+        float originalTranslation;
+        float offset;
+        int updateId;
+        boolean moved;
+    }
+}
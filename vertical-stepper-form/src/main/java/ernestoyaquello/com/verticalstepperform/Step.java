@@ -15,6 +15,8 @@ import java.util.List;
  */
 public abstract class Step<T extends Serializable> {
 
+    private String originalTitle;
+    private String originalSubtitle;
     private String originalNextButtonText;
     private String title;
     private String subtitle;
@@ -23,9 +25,19 @@ public abstract class Step<T extends Serializable> {
     private boolean completed;
     private boolean open;
     private boolean hasError;
+    private int position;
     private View stepLayout;
     private View contentLayout;
     private VerticalStepperFormView formView;
+    private StepDataValidator<T> dataValidator;
+    private boolean dataValidationInterrupted;
+    private boolean stepDataProductionInterrupted;
+    private volatile DataValidationMemo dataValidationMemo;
+    private StepDataResolver<T> dataResolver;
+    private T producedStepData;
+    private String producedStepDataAsHumanReadableString;
+    private boolean stepDataProduced;
+    private int stepDataVersion;
 
     private List<InternalFormStepListener> internalListeners;
 
@@ -41,14 +53,20 @@ public abstract class Step<T extends Serializable> {
         this.title = title;
         this.subtitle = subtitle;
         this.nextButtonText = nextButtonText;
+        this.originalTitle = title;
+        this.originalSubtitle = subtitle;
         this.originalNextButtonText = nextButtonText;
         this.errorMessage = "";
+        this.position = -1;
         this.internalListeners = new ArrayList<>();
     }
 
     /**
      * Gets the data of this step (i.e., the information that the user has filled in for this field).
      *
+     * Please note that when the step provides a data producer (see getStepDataProducer()), the form
+     * will use the data produced in the background instead of calling this method.
+     *
      * @return The step data.
      */
     public abstract T getStepData();
@@ -58,6 +76,9 @@ public abstract class Step<T extends Serializable> {
      * as a human-readable string. When the option displayStepDataInSubtitleOfClosedSteps is
      * activated, the text returned by this method will be the one displayed in the step's subtitle.
      *
+     * Please note that when the step provides a data producer (see getStepDataProducer()), the form
+     * will use the text produced in the background instead of calling this method.
+     *
      * @return The step data as a human-readable string.
      */
     public abstract String getStepDataAsHumanReadableString();
@@ -78,6 +99,89 @@ public abstract class Step<T extends Serializable> {
      */
     protected abstract IsDataValid isStepDataValid(T stepData);
 
+    /**
+     * Returns the codec that the form will use to save and restore the step data in a compact
+     * binary format. By default, there is no codec, so the step data will be saved and restored
+     * using Java serialization, which is slower and produces bigger output; override this method
+     * to provide a codec for the data of this step.
+     *
+     * @return The codec for the step data, or null to use Java serialization.
+     */
+    protected StepDataCodec<T> getStepDataCodec() {
+        return null;
+    }
+
+    /**
+     * Returns the producer that the form will use to get the step data and its human-readable
+     * representation in a background thread, caching the results for the validation of the step,
+     * its subtitle and the saved state of the form. By default, there is no producer, so the form
+     * will call getStepData() and getStepDataAsHumanReadableString() on the UI thread; override
+     * this method to provide a producer for steps whose data is expensive to compute.
+     *
+     * The same producer instance must be returned every time. Once the source of the step data
+     * changes, requestStepDataProduction() must be called so the data gets produced again.
+     *
+     * @return The producer of the step data, or null to get the data on the UI thread.
+     */
+    protected StepDataProducer<T> getStepDataProducer() {
+        return null;
+    }
+
+    /**
+     * Requests the data of the step to be produced again in a background thread by the producer
+     * returned by getStepDataProducer(), superseding any previous request. Once the data has been
+     * produced, the step will be marked as completed or uncompleted depending on whether it is
+     * valid or not, and its subtitle will be updated. Until then, the form will keep using the
+     * data that was produced last.
+     *
+     * @param useAnimations True to animate the changes in the views, false to not.
+     */
+    protected void requestStepDataProduction(boolean useAnimations) {
+        StepDataResolver<T> resolver = getDataResolver();
+        if (resolver != null) {
+            resolver.requestProduction(useAnimations);
+        }
+    }
+
+    /**
+     * Determines whether the result of the last validation of the step data will be memoized, so
+     * validating the same data again won't require calling isStepDataValid(). The data will be
+     * considered the same when the key returned by getDataValidationKey() is equal to the last one.
+     * By default, the results are not memoized; override this method to enable it on steps whose
+     * validation only depends on their data.
+     *
+     * @return True to memoize the result of the last validation of the step data; false to not.
+     */
+    protected boolean isDataValidationMemoized() {
+        return false;
+    }
+
+    /**
+     * Returns the key used to determine whether the step data has changed since the last time it
+     * was validated. Only used when isDataValidationMemoized() returns true. By default, the step
+     * data itself is used as the key, so it is compared using equals().
+     *
+     * The default key only works when the step data is immutable. If getStepData() returns an
+     * object that the step modifies in place (e.g., an internal array), the key will always be
+     * equal to the last one and stale results will be returned, so this method must be overridden
+     * to return a copy of the data or a value derived from it (e.g., Arrays.toString(stepData)).
+     *
+     * @param stepData The data that is about to be validated.
+     * @return The key that identifies the data for validation purposes.
+     */
+    protected Object getDataValidationKey(T stepData) {
+        return stepData;
+    }
+
+    /**
+     * Discards the memoized result of the last validation, if any, forcing the next validation of
+     * the step data to call isStepDataValid(). It should be called whenever something other than
+     * the step data affects its validity.
+     */
+    protected void invalidateDataValidation() {
+        dataValidationMemo = null;
+    }
+
     /**
      * This method will be called automatically by the form in order to get the layout of the step.
      *
@@ -195,6 +299,11 @@ public abstract class Step<T extends Serializable> {
     /**
      * Gets the content layout of the step, which was generated on createStepContentLayout(), if any.
      *
+     * Please note that when the form renders its steps in virtualized mode, or when it creates the
+     * content of each step on its first opening, the content layout will only be created once it
+     * has to be displayed or once the step data is needed, so this method could return null before
+     * that.
+     *
      * @return The step's content layout.
      */
     public View getContentLayout() {
@@ -206,6 +315,8 @@ public abstract class Step<T extends Serializable> {
      *
      * Please note that this is not the layout of the step's content; this layout is for the entire
      * step and includes the header, the "Next" button, etc.
+     * When the form renders its steps in virtualized mode, this layout will be null while the step
+     * is not displayed, and it may change every time the step is scrolled back into view.
      *
      * @return The entire step layout.
      */
@@ -216,10 +327,10 @@ public abstract class Step<T extends Serializable> {
     /**
      * Gets the position of the step within the form, counting from 0.
      *
-     * @return The position of the step.
+     * @return The position of the step, or -1 if the step is not part of the form.
      */
     public int getPosition() {
-        return formView.getStepPosition(this);
+        return position;
     }
 
     /**
@@ -247,10 +358,13 @@ public abstract class Step<T extends Serializable> {
      * @return True if the data is valid; false otherwise.
      */
     public boolean isStepDataValid() {
-        IsDataValid isDataValid = isStepDataValid(getStepData());
-        isDataValid = isDataValid == null ? new IsDataValid(true) : isDataValid;
+        createContentLayoutIfNecessary();
+        if (!isStepDataAvailableInternal()) {
+            requestStepDataProductionIfNecessary(false);
+            return completed;
+        }
 
-        return isDataValid.isValid();
+        return validateStepDataInternal(getStepDataInternal()).isValid();
     }
 
     /**
@@ -264,6 +378,35 @@ public abstract class Step<T extends Serializable> {
         return markAsCompletedOrUncompletedInternal(useAnimations, false);
     }
 
+    /**
+     * Marks the step as completed or uncompleted depending on whether the step data is valid or not,
+     * but validating the data in a background thread so the UI thread is never blocked by it.
+     * It is meant to be called every time the step data changes (e.g., from a TextWatcher) when
+     * the validation of the data is expensive.
+     *
+     * The requests are debounced, so the validation will only take place once no new requests
+     * have been made for a while (see the builder option stepDataValidationDelay()), and every new
+     * request supersedes the previous ones, so only the result of the latest one will be applied.
+     * Any synchronous update of the completion state of the step will supersede them too.
+     *
+     * Please note that when using this method, the implementation of isStepDataValid() must be
+     * thread-safe and must not access the views of the step.
+     *
+     * @param useAnimations True to animate the changes in the views, false to not.
+     */
+    public void markAsCompletedOrUncompletedAsynchronously(boolean useAnimations) {
+        stepDataVersion++;
+        if (formView != null) {
+            formView.onStepDataChangedInternal(this);
+        }
+        if (dataValidator == null) {
+            dataValidator = new StepDataValidator<>(this);
+        }
+
+        int delayInMs = formView != null ? formView.style.stepDataValidationDelayInMs : 0;
+        dataValidator.requestValidation(delayInMs, useAnimations);
+    }
+
     /**
      * Marks the step as completed.
      *
@@ -304,6 +447,9 @@ public abstract class Step<T extends Serializable> {
     protected void updateSubtitle(String subtitle, boolean useAnimations) {
         this.subtitle = subtitle == null ? "" : subtitle;
 
+        // The data summary of some steps (e.g., the confirmation step) is their subtitle
+        stepDataVersion++;
+
         onUpdatedSubtitle(useAnimations);
     }
 
@@ -325,9 +471,24 @@ public abstract class Step<T extends Serializable> {
         onUpdatedErrorMessage(useAnimations);
     }
 
+    private void updateStepErrorState(boolean hasError) {
+        this.hasError = hasError;
+
+        if (formView != null) {
+            formView.onStepErrorStateChangedInternal(this);
+        }
+    }
+
     private void updateStepCompletionState(boolean completed, String errorMessage, boolean useAnimations) {
+        // Steps are usually marked as completed or uncompleted right after their data has changed
+        stepDataVersion++;
+        cancelPendingDataValidations();
         this.completed = completed;
 
+        if (formView != null) {
+            formView.onStepCompletionStateChangedInternal(this);
+        }
+
         updateErrorMessage(errorMessage, useAnimations);
         onUpdatedStepCompletionState(useAnimations);
         if (completed) {
@@ -340,6 +501,12 @@ public abstract class Step<T extends Serializable> {
     private void updateStepVisibility(boolean visibility, boolean useAnimations) {
         open = visibility;
 
+        // The form is told about the new open step before anyone else gets notified, so any
+        // listener that queries the open step during the notifications gets the right answer
+        if (formView != null) {
+            formView.onStepVisibilityChangedInternal(this);
+        }
+
         onUpdatedStepVisibility(useAnimations);
         if (visibility) {
             onStepOpened(useAnimations);
@@ -384,6 +551,14 @@ public abstract class Step<T extends Serializable> {
         }
     }
 
+    String getOriginalTitle() {
+        return originalTitle == null ? "" : originalTitle;
+    }
+
+    String getOriginalSubtitle() {
+        return originalSubtitle == null ? "" : originalSubtitle;
+    }
+
     String getOriginalNextButtonText() {
         return originalNextButtonText == null ? "" : originalNextButtonText;
     }
@@ -394,6 +569,24 @@ public abstract class Step<T extends Serializable> {
         }
     }
 
+    void removeListenerInternal(InternalFormStepListener listener) {
+        // The list is replaced rather than modified, as the step could be removed from a listener
+        if (internalListeners.contains(listener)) {
+            internalListeners = new ArrayList<>(internalListeners);
+            internalListeners.remove(listener);
+        }
+    }
+
+    void onRemovedFromFormInternal(InternalFormStepListener formListener) {
+        // The form still gets notified through its hooks, but they ignore steps that aren't in it
+        removeListenerInternal(formListener);
+        cancelPendingDataValidations();
+        stepDataProductionInterrupted = false;
+        if (dataResolver != null) {
+            dataResolver.cancelPendingProductions();
+        }
+    }
+
     void openInternal(boolean useAnimations) {
         if (!open) {
             updateStepVisibility(true, useAnimations);
@@ -408,50 +601,212 @@ public abstract class Step<T extends Serializable> {
 
     void restoreStepDataInternal(Serializable data) {
         restoreStepData((T)data);
+        stepDataVersion++;
+
+        StepDataResolver<T> resolver = getDataResolver();
+        if (resolver != null) {
+            // The restored data is used right away, while its human-readable version gets produced
+            producedStepData = (T)data;
+            producedStepDataAsHumanReadableString = null;
+            stepDataProduced = true;
+            resolver.requestProduction(false);
+        }
+
+        if (formView != null) {
+            formView.onStepDataChangedInternal(this);
+        }
     }
 
     void restoreErrorStateInternal(boolean hasError) {
-        this.hasError = hasError;
+        updateStepErrorState(hasError);
     }
 
     boolean markAsCompletedOrUncompletedInternal(boolean useAnimations, boolean isAddingNewStep) {
-        IsDataValid isDataValid = isStepDataValid(getStepData());
-        isDataValid = isDataValid == null ? new IsDataValid(true) : isDataValid;
+        // This method is called every time the step data changes, so any data derived from it is outdated
+        stepDataVersion++;
+        cancelPendingDataValidations();
+        createContentLayoutIfNecessary();
+        if (!isStepDataAvailableInternal()) {
+            // The step will be validated once its data has been produced in the background
+            requestStepDataProductionIfNecessary(useAnimations);
+            return completed;
+        }
+        long startTimeNanos = FormMetrics.beginSection(FormMetrics.SECTION_STEP_DATA_VALIDATION);
+        IsDataValid isDataValid = validateStepDataInternal(getStepDataInternal());
+        long durationNanos = FormMetrics.endSection(startTimeNanos);
+        if (formView != null) {
+            formView.getMetrics().onStepDataValidated(position, durationNanos, false);
+        }
+
+        return applyDataValidationResultInternal(isDataValid, useAnimations, isAddingNewStep);
+    }
+
+    T getStepDataForValidationInternal() {
+        createContentLayoutIfNecessary();
+
+        return getStepDataInternal();
+    }
+
+    boolean isStepDataAvailableInternal() {
+        return getStepDataProducer() == null || stepDataProduced;
+    }
+
+    T getStepDataInternal() {
+        if (getStepDataProducer() == null) {
+            return getStepData();
+        }
+
+        return producedStepData;
+    }
+
+    String getStepDataAsHumanReadableStringInternal() {
+        if (getStepDataProducer() == null) {
+            String stepDataAsHumanReadableString = getStepDataAsHumanReadableString();
+            return stepDataAsHumanReadableString == null ? "" : stepDataAsHumanReadableString;
+        }
+
+        requestStepDataProductionIfNecessary(false);
+        return producedStepDataAsHumanReadableString;
+    }
+
+    int getStepDataVersionInternal() {
+        return stepDataVersion;
+    }
+
+    void applyProducedStepDataInternal(T stepData, String stepDataAsHumanReadableString, boolean useAnimations) {
+        producedStepData = stepData;
+        producedStepDataAsHumanReadableString = stepDataAsHumanReadableString == null ? "" : stepDataAsHumanReadableString;
+        stepDataProduced = true;
+
+        // The error state of a step that hasn't been displayed yet is kept hidden, as usual
+        markAsCompletedOrUncompletedInternal(useAnimations, !open && !hasError);
+        onUpdatedSubtitle(useAnimations);
+    }
+
+    IsDataValid validateStepDataInternal(T stepData) {
+        boolean isMemoized = isDataValidationMemoized();
+        Object key = null;
+        if (isMemoized) {
+            key = getDataValidationKey(stepData);
+            DataValidationMemo memo = dataValidationMemo;
+            if (memo != null && memo.hasKey(key)) {
+                return memo.result;
+            }
+        }
+
+        IsDataValid isDataValid = isStepDataValid(stepData);
+        isDataValid = isDataValid == null ? IsDataValid.VALID : isDataValid;
+        if (isMemoized) {
+            dataValidationMemo = new DataValidationMemo(key, isDataValid);
+        }
+
+        return isDataValid;
+    }
+
+    boolean applyDataValidationResultInternal(IsDataValid isDataValid, boolean useAnimations, boolean isAddingNewStep) {
         boolean isValid = isDataValid.isValid();
 
         if (completed != isValid) {
             if(isValid) {
-                hasError = false;
+                updateStepErrorState(false);
                 markAsCompleted(useAnimations);
             } else {
-                hasError = !isAddingNewStep;
+                updateStepErrorState(!isAddingNewStep);
                 markAsUncompleted(isDataValid.getErrorMessage(), useAnimations);
             }
         } else {
-            hasError = !isAddingNewStep && !isValid;
+            updateStepErrorState(!isAddingNewStep && !isValid);
             updateErrorMessage(isValid ? "" : isDataValid.getErrorMessage(), useAnimations);
         }
 
         return isValid;
     }
 
+    void interruptBackgroundWorkInternal() {
+        if (dataValidator != null && dataValidator.isValidationPending()) {
+            dataValidator.cancelPendingValidations();
+            dataValidationInterrupted = true;
+        }
+        if (dataResolver != null && dataResolver.isProductionPending()) {
+            dataResolver.cancelPendingProductions();
+            stepDataProductionInterrupted = true;
+        }
+    }
+
+    void resumeBackgroundWorkInternal() {
+        if (stepDataProductionInterrupted) {
+            stepDataProductionInterrupted = false;
+            dataResolver.requestProduction(false);
+        }
+        if (dataValidationInterrupted) {
+            dataValidationInterrupted = false;
+            markAsCompletedOrUncompletedAsynchronously(false);
+        }
+    }
+
+    void setPositionInternal(int position) {
+        this.position = position;
+    }
+
     void initializeStepInternal(View stepLayout, VerticalStepperFormView formView) {
         this.stepLayout = stepLayout;
         this.formView = formView;
     }
 
+    void setEntireStepLayoutInternal(View stepLayout) {
+        this.stepLayout = stepLayout;
+    }
+
     void setContentLayoutInternal(View contentLayout) {
         this.contentLayout = contentLayout;
     }
 
+    private void cancelPendingDataValidations() {
+        dataValidationInterrupted = false;
+        if (dataValidator != null) {
+            dataValidator.cancelPendingValidations();
+        }
+    }
+
+    private StepDataResolver<T> getDataResolver() {
+        if (dataResolver == null) {
+            StepDataProducer<T> producer = getStepDataProducer();
+            if (producer != null) {
+                dataResolver = new StepDataResolver<>(this, producer);
+            }
+        }
+
+        return dataResolver;
+    }
+
+    private void requestStepDataProductionIfNecessary(boolean useAnimations) {
+        StepDataResolver<T> resolver = getDataResolver();
+        if (resolver != null && !stepDataProduced && !resolver.isProductionPending()) {
+            resolver.requestProduction(useAnimations);
+        }
+    }
+
+    private void createContentLayoutIfNecessary() {
+        // The step data usually comes from the views of the step content, so we make sure they exist
+        if (formView != null) {
+            formView.createStepContentLayoutIfNecessaryInternal(this);
+        }
+    }
+
     /**
      * This class holds information about whether the data is valid in a boolean. It also includes
      * an optional error message for when the data turns out to be invalid.
      */
     protected static class IsDataValid {
 
-        private boolean isValid;
-        private String errorMessage;
+        /**
+         * Shared instance for valid data without error message. It can be returned from
+         * isStepDataValid() to avoid creating a new instance every time the data is valid.
+         */
+        public static final IsDataValid VALID = new IsDataValid(true);
+
+        private final boolean isValid;
+        private final String errorMessage;
 
         public IsDataValid(boolean isValid) {
             this(isValid, "");
@@ -481,6 +836,24 @@ public abstract class Step<T extends Serializable> {
         }
     }
 
+    /**
+     * Holds the result of the last validation of the step data along with the key of that data.
+     */
+    private static class DataValidationMemo {
+
+        private final Object key;
+        private final IsDataValid result;
+
+        DataValidationMemo(Object key, IsDataValid result) {
+            this.key = key;
+            this.result = result;
+        }
+
+        boolean hasKey(Object key) {
+            return this.key == null ? key == null : this.key.equals(key);
+        }
+    }
+
     /**
      * Internal listener that will be used to notify both the form and the step helper
      * about any changes on this step so they can update accordingly.
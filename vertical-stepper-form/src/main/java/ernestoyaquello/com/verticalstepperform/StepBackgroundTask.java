@@ -0,0 +1,152 @@
+package ernestoyaquello.com.verticalstepperform;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs work related to a step in a shared pool of background threads and passes its result on to
+ * the main thread. Every new request supersedes the previous ones, so only the result of the
+ * latest request will be passed on. If the work throws an exception, it is thrown again on the
+ * main thread, so it isn't silently swallowed by the background thread.
+ */
+class StepBackgroundTask<R> {
+
+    private static final int MAX_THREADS = Math.max(1, Runtime.getRuntime().availableProcessors());
+    private static final int THREAD_KEEP_ALIVE_TIME_IN_S = 30;
+
+    // The pool is bounded, so restoring a form with many steps won't start one thread per step
+    private static final ExecutorService executor = createExecutor();
+    private static final Handler mainThreadHandler = new Handler(Looper.getMainLooper());
+
+    private Runnable pendingRequest;
+    private Future<?> runningWork;
+    private int latestRequestId;
+
+    /**
+     * Runs some code on the main thread once the specified delay has passed, superseding any
+     * previous request. The code will usually prepare the work and then start it with run().
+     * Must be called from the main thread.
+     *
+     * @param delayInMs The time to wait for newer requests before the code is run.
+     * @param runnable The code to run on the main thread.
+     */
+    void runDelayed(int delayInMs, final Runnable runnable) {
+        cancel();
+
+        pendingRequest = () -> {
+            pendingRequest = null;
+            runnable.run();
+        };
+        mainThreadHandler.postDelayed(pendingRequest, Math.max(delayInMs, 0));
+    }
+
+    /**
+     * Runs the work in the background right away, superseding any previous request.
+     * Must be called from the main thread.
+     *
+     * @param work The work to run in the background.
+     * @param resultListener The listener that will receive the result on the main thread.
+     */
+    void run(final Callable<R> work, final ResultListener<R> resultListener) {
+        cancel();
+
+        final int requestId = latestRequestId;
+        runningWork = executor.submit(() -> {
+            final R result;
+            try {
+                result = work.call();
+            } catch (final Throwable throwable) {
+                mainThreadHandler.post(() -> {
+                    if (requestId == latestRequestId) {
+                        runningWork = null;
+                        throw asUncheckedException(throwable);
+                    }
+                });
+                return;
+            }
+
+            mainThreadHandler.post(() -> {
+                if (requestId == latestRequestId) {
+                    runningWork = null;
+                    resultListener.onResult(result);
+                }
+            });
+        });
+    }
+
+    /**
+     * Determines whether there is a request whose result hasn't been passed on yet.
+     * Must be called from the main thread.
+     *
+     * @return True if there is a pending request; false otherwise.
+     */
+    boolean isPending() {
+        return pendingRequest != null || runningWork != null;
+    }
+
+    /**
+     * Cancels any pending request so its result never gets passed on.
+     * Must be called from the main thread.
+     */
+    void cancel() {
+        latestRequestId++;
+
+        if (pendingRequest != null) {
+            mainThreadHandler.removeCallbacks(pendingRequest);
+            pendingRequest = null;
+        }
+        if (runningWork != null) {
+            runningWork.cancel(true);
+            runningWork = null;
+        }
+    }
+
+    private static ExecutorService createExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                MAX_THREADS,
+                MAX_THREADS,
+                THREAD_KEEP_ALIVE_TIME_IN_S,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "VerticalStepperFormWorker");
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+
+        return executor;
+    }
+
+    private static RuntimeException asUncheckedException(Throwable throwable) {
+        if (throwable instanceof Error) {
+            throw (Error) throwable;
+        }
+        if (throwable instanceof RuntimeException) {
+            return (RuntimeException) throwable;
+        }
+
+        return new RuntimeException(throwable);
+    }
+
+    /**
+     * Receives the result of the work on the main thread.
+     */
+    interface ResultListener<R> {
+
+        /**
+         * Called on the main thread with the result of the latest request.
+         *
+         * @param result The result of the work.
+         */
+        void onResult(R result);
+    }
+}
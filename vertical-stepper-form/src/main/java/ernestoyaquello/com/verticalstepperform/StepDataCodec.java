@@ -0,0 +1,34 @@
+package ernestoyaquello.com.verticalstepperform;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.Serializable;
+
+/**
+ * Writes and reads the data of a step in a compact binary format. When a step provides a codec
+ * (see Step.getStepDataCodec()), the form will use it to save and restore the step data instead
+ * of relying on Java serialization, which is considerably slower and produces much bigger output.
+ *
+ * @param <T> The type of the data of the step.
+ */
+public interface StepDataCodec<T extends Serializable> {
+
+    /**
+     * Writes the step data.
+     *
+     * @param data The step data to write. It could be null if the step returns null as its data.
+     * @param output The output where the data must be written.
+     * @throws IOException If the data cannot be written.
+     */
+    void write(T data, DataOutput output) throws IOException;
+
+    /**
+     * Reads the step data, which must have been written previously with write().
+     *
+     * @param input The input from which the data must be read.
+     * @return The step data.
+     * @throws IOException If the data cannot be read.
+     */
+    T read(DataInput input) throws IOException;
+}
@@ -0,0 +1,34 @@
+package ernestoyaquello.com.verticalstepperform;
+
+import java.io.Serializable;
+
+/**
+ * Produces the data of a step, as well as its human-readable representation, in a background
+ * thread. When a step provides a producer (see Step.getStepDataProducer()), the form will resolve
+ * it on a worker thread and use the cached results to validate the step, to display its data in
+ * the subtitle and to save its state, so steps whose data is expensive to compute (e.g., because
+ * it comes from local storage) never block the UI thread.
+ *
+ * Please note that both methods will be called from a background thread, so they must be
+ * thread-safe and must not access the views of the step.
+ *
+ * @param <T> The type of the data of the step.
+ */
+public interface StepDataProducer<T extends Serializable> {
+
+    /**
+     * Produces the data of the step.
+     *
+     * @return The step data.
+     */
+    T produceStepData();
+
+    /**
+     * Produces the human-readable representation of the step data, which will be displayed in the
+     * subtitle of the step when the option displayStepDataInSubtitleOfClosedSteps is activated.
+     *
+     * @param stepData The step data, as returned by produceStepData().
+     * @return The step data as a human-readable string.
+     */
+    String produceStepDataAsHumanReadableString(T stepData);
+}
@@ -0,0 +1,64 @@
+package ernestoyaquello.com.verticalstepperform;
+
+import java.io.Serializable;
+
+/**
+ * Resolves the data producer of a step in the background. Every new request supersedes the
+ * previous ones, so only the data produced by the latest request will be passed on to the step.
+ */
+class StepDataResolver<T extends Serializable> {
+
+    private final Step<T> step;
+    private final StepDataProducer<T> producer;
+    private final StepBackgroundTask<ProducedStepData<T>> production;
+
+    StepDataResolver(Step<T> step, StepDataProducer<T> producer) {
+        this.step = step;
+        this.producer = producer;
+        this.production = new StepBackgroundTask<>();
+    }
+
+    /**
+     * Requests the step data to be produced again, superseding any previous request.
+     * Must be called from the main thread.
+     *
+     * @param useAnimations True to animate the changes in the views once the data is passed on.
+     */
+    void requestProduction(boolean useAnimations) {
+        production.run(() -> {
+            T stepData = producer.produceStepData();
+            String stepDataAsHumanReadableString = producer.produceStepDataAsHumanReadableString(stepData);
+            return new ProducedStepData<>(stepData, stepDataAsHumanReadableString);
+        }, result -> step.applyProducedStepDataInternal(
+                result.stepData, result.stepDataAsHumanReadableString, useAnimations));
+    }
+
+    /**
+     * Determines whether there is a production of the step data in progress.
+     * Must be called from the main thread.
+     *
+     * @return True if the step data is being produced; false otherwise.
+     */
+    boolean isProductionPending() {
+        return production.isPending();
+    }
+
+    /**
+     * Cancels any pending production so its result never gets passed on to the step.
+     * Must be called from the main thread.
+     */
+    void cancelPendingProductions() {
+        production.cancel();
+    }
+
+    private static class ProducedStepData<T> {
+
+        private final T stepData;
+        private final String stepDataAsHumanReadableString;
+
+        ProducedStepData(T stepData, String stepDataAsHumanReadableString) {
+            this.stepData = stepData;
+            this.stepDataAsHumanReadableString = stepDataAsHumanReadableString;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package ernestoyaquello.com.verticalstepperform;
+
+import java.io.Serializable;
+
+/**
+ * Runs the validation of the data of a step in the background. The validation requests are
+ * debounced, so a burst of requests (e.g., one per typed character) will only result in one
+ * validation, and every new request supersedes the previous ones, so only the result of the
+ * latest request will be applied to the step.
+ */
+class StepDataValidator<T extends Serializable> {
+
+    private final Step<T> step;
+    private final StepBackgroundTask<ValidationResult> validation;
+
+    StepDataValidator(Step<T> step) {
+        this.step = step;
+        this.validation = new StepBackgroundTask<>();
+    }
+
+    /**
+     * Requests a new validation of the step data, superseding any previous request.
+     * Must be called from the main thread.
+     *
+     * @param delayInMs The time to wait for newer requests before the validation takes place.
+     * @param useAnimations True to animate the changes in the views once the result is applied.
+     */
+    void requestValidation(int delayInMs, boolean useAnimations) {
+        validation.runDelayed(delayInMs, () -> {
+            if (!step.isStepDataAvailableInternal()) {
+                // The data is still being produced, so the step will be validated once it is ready
+                step.markAsCompletedOrUncompletedInternal(useAnimations, false);
+                return;
+            }
+
+            // The data is read here, on the main thread, as it usually comes from the step views
+            final T stepData = step.getStepDataForValidationInternal();
+            validation.run(() -> {
+                Step.IsDataValid isDataValid;
+                long durationNanos;
+                long startTimeNanos = FormMetrics.beginSection(FormMetrics.SECTION_STEP_DATA_VALIDATION);
+                try {
+                    isDataValid = step.validateStepDataInternal(stepData);
+                } finally {
+                    durationNanos = FormMetrics.endSection(startTimeNanos);
+                }
+
+                return new ValidationResult(isDataValid, durationNanos);
+            }, result -> {
+                if (step.getFormView() != null) {
+                    step.getFormView().getMetrics().onStepDataValidated(step.getPosition(), result.durationNanos, true);
+                }
+                step.applyDataValidationResultInternal(result.isDataValid, useAnimations, false);
+            });
+        });
+    }
+
+    /**
+     * Determines whether there is a validation whose result hasn't been applied to the step yet.
+     * Must be called from the main thread.
+     *
+     * @return True if there is a pending validation; false otherwise.
+     */
+    boolean isValidationPending() {
+        return validation.isPending();
+    }
+
+    /**
+     * Cancels any pending validation so its result never gets applied to the step.
+     * Must be called from the main thread.
+     */
+    void cancelPendingValidations() {
+        validation.cancel();
+    }
+
+    private static class ValidationResult {
+
+        private final Step.IsDataValid isDataValid;
+        private final long durationNanos;
+
+        ValidationResult(Step.IsDataValid isDataValid, long durationNanos) {
+            this.isDataValid = isDataValid;
+            this.durationNanos = durationNanos;
+        }
+    }
+}
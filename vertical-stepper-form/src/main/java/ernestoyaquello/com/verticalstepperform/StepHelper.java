@@ -1,8 +1,6 @@
 package ernestoyaquello.com.verticalstepperform;
 
 import android.content.Context;
-import android.graphics.PorterDuff;
-import android.graphics.PorterDuffColorFilter;
 import android.graphics.drawable.Drawable;
 import android.util.TypedValue;
 import android.view.LayoutInflater;
@@ -12,13 +10,13 @@ import android.widget.ImageView;
 import android.widget.LinearLayout;
 import android.widget.TextView;
 
+import java.io.Serializable;
+import java.util.List;
+
 import com.google.android.material.button.MaterialButton;
 
 import androidx.annotation.LayoutRes;
 import androidx.annotation.NonNull;
-import androidx.core.content.ContextCompat;
-
-import ernestoyaquello.com.verticalstepperform.VerticalStepperFormView.FormStyle;
 
 /**
  * This class holds a step instance and deals with updating its views so they reflect its state.
@@ -29,6 +27,12 @@ import ernestoyaquello.com.verticalstepperform.VerticalStepperFormView.FormStyle
  */
 class StepHelper implements Step.InternalFormStepListener {
 
+    private static final int VIEW_UPDATE_TITLE = 1;
+    private static final int VIEW_UPDATE_SUBTITLE = 1 << 1;
+    private static final int VIEW_UPDATE_BUTTON_TEXT = 1 << 2;
+    private static final int VIEW_UPDATE_ERROR_MESSAGE = 1 << 3;
+    private static final int VIEW_UPDATE_COMPLETION_STATE = 1 << 4;
+
     private Step<?> step;
     private FormStyle formStyle;
 
@@ -48,6 +52,18 @@ class StepHelper implements Step.InternalFormStepListener {
     private View errorMessageContainerView;
     private View titleAndSubtitleContainerView;
     private View errorContentAndButtonContainerView;
+    private Drawable stepNumberCircleDrawable;
+    private int stepNumberCircleColor;
+    private boolean stepNumberCircleColorSet;
+
+    private boolean initialized;
+    private boolean contentLayoutCreated;
+    private Serializable pendingStepData;
+    private boolean hasPendingStepData;
+    private String stepDataSummary;
+    private int stepDataSummaryVersion;
+    private int postponedViewUpdates;
+    private boolean postponedViewUpdatesUseAnimations;
 
     StepHelper(Step.InternalFormStepListener formListener, @NonNull Step<?> step) {
         this(formListener, step, false);
@@ -60,15 +76,20 @@ class StepHelper implements Step.InternalFormStepListener {
     }
 
     View initialize(VerticalStepperFormView form, ViewGroup parent, @LayoutRes int stepLayoutResourceId) {
-        if (step.getEntireStepLayout() == null) {
+        if (!initialized) {
+            initialized = true;
             formStyle = form.style;
 
             Context context = form.getContext();
             LayoutInflater inflater = LayoutInflater.from(context);
+            long startTimeNanos = FormMetrics.beginSection(FormMetrics.SECTION_STEP_LAYOUT_INFLATION);
             View stepLayout = inflater.inflate(stepLayoutResourceId, parent, false);
+            form.getMetrics().onStepLayoutInflated(form.getStepPosition(step), FormMetrics.endSection(startTimeNanos));
 
             step.initializeStepInternal(stepLayout, form);
-            step.setContentLayoutInternal(step.createStepContentLayout());
+            if (!formStyle.createStepContentOnFirstOpening) {
+                createContentLayoutIfNecessary();
+            }
 
             setupStepViews(form, stepLayout);
         } else {
@@ -78,11 +99,160 @@ class StepHelper implements Step.InternalFormStepListener {
         return step.getEntireStepLayout();
     }
 
+    void initializeWithoutViews(VerticalStepperFormView form) {
+        if (!initialized) {
+            initialized = true;
+            formStyle = form.style;
+
+            // The views of the step will be bound later on via bindViews(), once they are needed
+            step.initializeStepInternal(null, form);
+            setupStepTexts(form);
+        } else {
+            throw new IllegalStateException("This step has already been initialized");
+        }
+    }
+
+    void bindViews(VerticalStepperFormView form, View stepLayout) {
+        if (step.getEntireStepLayout() != null) {
+            unbindViews();
+        }
+
+        if (!formStyle.createStepContentOnFirstOpening) {
+            createContentLayoutIfNecessary();
+        }
+        step.setEntireStepLayoutInternal(stepLayout);
+
+        // The step layout might have been used by another step before, so we make sure that all its
+        // views are reset to reflect the state of this step
+        setupStepViews(form, stepLayout);
+        updateStepViewsAfterPositionChange(form);
+    }
+
+    void unbindViews() {
+        View contentLayout = step.getContentLayout();
+        if (contentLayout != null && contentLayout.getParent() instanceof ViewGroup) {
+            ((ViewGroup) contentLayout.getParent()).removeView(contentLayout);
+        }
+
+        step.setEntireStepLayoutInternal(null);
+    }
+
+    boolean isBoundTo(View stepLayout) {
+        return stepLayout != null && step.getEntireStepLayout() == stepLayout;
+    }
+
+    void createContentLayoutIfNecessary() {
+        if (!contentLayoutCreated && step.getFormView() != null) {
+            contentLayoutCreated = true;
+            long startTimeNanos = FormMetrics.beginSection(FormMetrics.SECTION_STEP_CONTENT_CREATION);
+            step.setContentLayoutInternal(step.createStepContentLayout());
+            step.getFormView().getMetrics().onStepContentLayoutCreated(
+                    step.getPosition(), FormMetrics.endSection(startTimeNanos));
+
+            if (step.getEntireStepLayout() != null && step.getContentLayout() != null) {
+                ViewGroup contentContainerLayout = step.getEntireStepLayout().findViewById(R.id.step_content);
+                contentContainerLayout.addView(step.getContentLayout());
+                SlideAnimationEngine.invalidateExpandedHeights(contentContainerLayout);
+            }
+
+            // Any data that was restored before the content existed can now be passed on to the step
+            if (hasPendingStepData) {
+                Serializable stepData = pendingStepData;
+                pendingStepData = null;
+                hasPendingStepData = false;
+                step.restoreStepDataInternal(stepData);
+            }
+        }
+    }
+
+    boolean hasStepData() {
+        return (contentLayoutCreated && step.isStepDataAvailableInternal()) || hasPendingStepData;
+    }
+
+    Serializable getStepData() {
+        if (contentLayoutCreated) {
+            return step.getStepDataInternal();
+        }
+
+        return pendingStepData;
+    }
+
+    /**
+     * Captures the current state of the step into a snapshot of the form.
+     *
+     * @param snapshot The snapshot of the form.
+     * @param position The position of the step.
+     */
+    void captureState(FormStateSnapshot snapshot, int position) {
+        boolean hasData = hasStepData();
+
+        // Only the texts that differ from the original ones need to be saved
+        String title = step.getTitle();
+        String subtitle = step.getSubtitle();
+        String buttonText = step.getNextButtonText();
+        String errorMessage = step.getErrorMessage();
+        snapshot.setStepState(
+                position,
+                step.isCompleted(),
+                step.hasError(),
+                hasData,
+                hasData ? getStepData() : null,
+                !title.equals(step.getOriginalTitle()) ? title : null,
+                !subtitle.equals(step.getOriginalSubtitle()) ? subtitle : null,
+                !buttonText.equals(step.getOriginalNextButtonText()) ? buttonText : null,
+                !step.isCompleted() && !errorMessage.isEmpty() ? errorMessage : null);
+    }
+
+    /**
+     * Gets the codecs for the data of the specified steps.
+     *
+     * @param stepHelpers The steps.
+     * @return The codecs for the data of the steps.
+     */
+    static FormStateSnapshot.StepDataCodecs getStepDataCodecs(List<StepHelper> stepHelpers) {
+        return position -> stepHelpers.get(position).getStepInstance().getStepDataCodec();
+    }
+
+    void restoreStepData(Serializable stepData) {
+        if (contentLayoutCreated) {
+            step.restoreStepDataInternal(stepData);
+        } else {
+            // The step content doesn't exist yet, so we hold the data until it gets created
+            pendingStepData = stepData;
+            hasPendingStepData = true;
+        }
+    }
+
+    private void setupStepTexts(VerticalStepperFormView form) {
+        int position = form.getStepPosition(step);
+        boolean isLast = (position + 1) == form.getTotalNumberOfSteps();
+
+        String title = !isConfirmationStep()
+                ? step.getTitle()
+                : formStyle.confirmationStepTitle;
+        String subtitle = !isConfirmationStep()
+                ? step.getSubtitle()
+                : formStyle.confirmationStepSubtitle;
+        String stepNextButtonText = !step.getNextButtonText().isEmpty()
+                ? step.getNextButtonText()
+                : isLast ? formStyle.lastStepNextButtonText : formStyle.stepNextButtonText;
+
+        step.updateTitle(title, false);
+        step.updateSubtitle(subtitle, false);
+        step.updateNextButtonText(stepNextButtonText, false);
+    }
+
     private void setupStepViews(final VerticalStepperFormView form, View stepLayout) {
 
-        if (step.getContentLayout() != null) {
-            ViewGroup contentContainerLayout = step.getEntireStepLayout().findViewById(R.id.step_content);
-            contentContainerLayout.addView(step.getContentLayout());
+        View contentLayout = step.getContentLayout();
+        ViewGroup contentContainerLayout = stepLayout.findViewById(R.id.step_content);
+        if (contentLayout != null && contentLayout.getParent() != contentContainerLayout) {
+            if (contentLayout.getParent() instanceof ViewGroup) {
+                ((ViewGroup) contentLayout.getParent()).removeView(contentLayout);
+            }
+
+            contentContainerLayout.addView(contentLayout);
+            SlideAnimationEngine.invalidateExpandedHeights(contentContainerLayout);
         }
 
         stepNumberCircleView = stepLayout.findViewById(R.id.step_number_circle);
@@ -114,18 +284,20 @@ class StepHelper implements Step.InternalFormStepListener {
         errorMessageView.setTextColor(formStyle.errorMessageTextColor);
         errorIconView.setColorFilter(formStyle.errorMessageTextColor);
 
-        Drawable circleDrawable = ContextCompat.getDrawable(form.getContext(), R.drawable.circle_step_done);
-        circleDrawable.setColorFilter(
-                new PorterDuffColorFilter(formStyle.stepNumberBackgroundColor, PorterDuff.Mode.SRC_IN));
-        stepNumberCircleView.setBackground(circleDrawable);
+        stepNumberCircleDrawable = formStyle.createStepNumberCircleDrawable(form.getContext());
+        stepNumberCircleColorSet = false;
+        setStepNumberCircleColor(formStyle.stepNumberBackgroundColor);
+        stepNumberCircleView.setBackground(stepNumberCircleDrawable);
 
         UIHelper.setButtonColor(
+                formStyle,
                 nextButtonView,
                 formStyle.nextButtonBackgroundColor,
                 formStyle.nextButtonTextColor,
                 formStyle.nextButtonPressedBackgroundColor,
                 formStyle.nextButtonPressedTextColor);
         UIHelper.setButtonColor(
+                formStyle,
                 cancelButtonView,
                 formStyle.lastStepCancelButtonBackgroundColor,
                 formStyle.lastStepCancelButtonTextColor,
@@ -171,20 +343,8 @@ class StepHelper implements Step.InternalFormStepListener {
         int position = form.getStepPosition(step);
         boolean isLast = (position + 1) == form.getTotalNumberOfSteps();
 
-        String title = !isConfirmationStep()
-                ? step.getTitle()
-                : formStyle.confirmationStepTitle;
-        String subtitle = !isConfirmationStep()
-                ? step.getSubtitle()
-                : formStyle.confirmationStepSubtitle;
-        String stepNextButtonText = !step.getNextButtonText().isEmpty()
-                ? step.getNextButtonText()
-                : isLast ? formStyle.lastStepNextButtonText : formStyle.stepNextButtonText;
-
         stepNumberTextView.setText(String.valueOf(position + 1));
-        step.updateTitle(title, false);
-        step.updateSubtitle(subtitle, false);
-        step.updateNextButtonText(stepNextButtonText, false);
+        setupStepTexts(form);
 
         if (formStyle.displayCancelButtonInLastStep && isLast) {
             String cancelButtonText = formStyle.lastStepCancelButtonText == null
@@ -214,13 +374,18 @@ class StepHelper implements Step.InternalFormStepListener {
         int position = form.getStepPosition(step);
         boolean isLast = (position + 1) == form.getTotalNumberOfSteps();
 
-        stepNumberTextView.setText(String.valueOf(position + 1));
-
         String stepNextButtonText = !step.getOriginalNextButtonText().isEmpty()
                 ? step.getOriginalNextButtonText()
                 : isLast ? formStyle.lastStepNextButtonText : formStyle.stepNextButtonText;
         step.updateNextButtonText(stepNextButtonText, false);
 
+        if (step.getEntireStepLayout() == null) {
+            // The views of this step aren't bound yet, so there is nothing else to update
+            return;
+        }
+
+        stepNumberTextView.setText(String.valueOf(position + 1));
+
         if (formStyle.displayCancelButtonInLastStep && isLast) {
             String cancelButtonText = formStyle.lastStepCancelButtonText == null
                     ? "" : formStyle.lastStepCancelButtonText;
@@ -246,6 +411,9 @@ class StepHelper implements Step.InternalFormStepListener {
         lineView1.setVisibility(isLast ? View.GONE : View.VISIBLE);
         lineView2.setVisibility(isLast ? View.GONE : View.VISIBLE);
 
+        // The buttons may have changed, so the height of the step content may have changed too
+        SlideAnimationEngine.invalidateExpandedHeights(cancelButtonView);
+
         onUpdatedStepCompletionState(position, false);
         onUpdatedStepVisibility(position, false);
     }
@@ -256,6 +424,10 @@ class StepHelper implements Step.InternalFormStepListener {
 
     @Override
     public void onUpdatedTitle(int stepPosition, boolean useAnimations) {
+        if (postponeViewUpdateIfNecessary(VIEW_UPDATE_TITLE, useAnimations)) {
+            return;
+        }
+
         if (step.getEntireStepLayout() != null) {
             updateTitleTextViewValue();
         }
@@ -263,6 +435,10 @@ class StepHelper implements Step.InternalFormStepListener {
 
     @Override
     public void onUpdatedSubtitle(int stepPosition, boolean useAnimations) {
+        if (postponeViewUpdateIfNecessary(VIEW_UPDATE_SUBTITLE, useAnimations)) {
+            return;
+        }
+
         if (step.getEntireStepLayout() != null) {
             if (updateSubtitleTextViewValue()) {
                 updateSubtitleVisibility(useAnimations);
@@ -272,6 +448,10 @@ class StepHelper implements Step.InternalFormStepListener {
 
     @Override
     public void onUpdatedButtonText(int stepPosition, boolean useAnimations) {
+        if (postponeViewUpdateIfNecessary(VIEW_UPDATE_BUTTON_TEXT, useAnimations)) {
+            return;
+        }
+
         if (step.getEntireStepLayout() != null) {
             updateButtonTextValue();
         }
@@ -279,6 +459,10 @@ class StepHelper implements Step.InternalFormStepListener {
 
     @Override
     public void onUpdatedErrorMessage(int stepPosition, boolean useAnimations) {
+        if (postponeViewUpdateIfNecessary(VIEW_UPDATE_ERROR_MESSAGE, useAnimations)) {
+            return;
+        }
+
         if (step.getEntireStepLayout() != null) {
             if (updateErrorMessageTextViewValue()) {
                 updateErrorMessageVisibility(useAnimations);
@@ -288,9 +472,13 @@ class StepHelper implements Step.InternalFormStepListener {
 
     @Override
     public void onUpdatedStepVisibility(int stepPosition, boolean useAnimations) {
+        if (step.isOpen()) {
+            createContentLayoutIfNecessary();
+        }
+
         if (step.getEntireStepLayout() != null) {
             if (step.isOpen()) {
-                UIHelper.slideDownIfNecessary(stepAndButtonView, useAnimations);
+                getSlideAnimationEngine().slideDownIfNecessary(stepAndButtonView, useAnimations);
 
                 // As soon as the step opens, we update its completion state
                 boolean wasCompleted = step.isCompleted();
@@ -299,7 +487,7 @@ class StepHelper implements Step.InternalFormStepListener {
                     updateHeader(useAnimations);
                 }
             } else {
-                UIHelper.slideUpIfNecessary(stepAndButtonView, useAnimations);
+                getSlideAnimationEngine().slideUpIfNecessary(stepAndButtonView, useAnimations);
                 updateHeader(useAnimations);
             }
         }
@@ -307,6 +495,10 @@ class StepHelper implements Step.InternalFormStepListener {
 
     @Override
     public void onUpdatedStepCompletionState(int stepPosition, boolean useAnimations) {
+        if (postponeViewUpdateIfNecessary(VIEW_UPDATE_COMPLETION_STATE, useAnimations)) {
+            return;
+        }
+
         if (step.getEntireStepLayout() != null) {
             if (step.isCompleted()) {
                 enableNextButton();
@@ -317,6 +509,46 @@ class StepHelper implements Step.InternalFormStepListener {
         }
     }
 
+    void applyPostponedViewUpdates() {
+        int viewUpdates = postponedViewUpdates;
+        boolean useAnimations = postponedViewUpdatesUseAnimations;
+        postponedViewUpdates = 0;
+        postponedViewUpdatesUseAnimations = false;
+
+        // Each kind of update is applied only once, no matter how many times it was requested
+        int position = step.getPosition();
+        if ((viewUpdates & VIEW_UPDATE_TITLE) != 0) {
+            onUpdatedTitle(position, useAnimations);
+        }
+        if ((viewUpdates & VIEW_UPDATE_BUTTON_TEXT) != 0) {
+            onUpdatedButtonText(position, useAnimations);
+        }
+        if ((viewUpdates & VIEW_UPDATE_ERROR_MESSAGE) != 0) {
+            onUpdatedErrorMessage(position, useAnimations);
+        }
+        if ((viewUpdates & VIEW_UPDATE_SUBTITLE) != 0) {
+            onUpdatedSubtitle(position, useAnimations);
+        }
+        if ((viewUpdates & VIEW_UPDATE_COMPLETION_STATE) != 0) {
+            onUpdatedStepCompletionState(position, useAnimations);
+        }
+    }
+
+    private boolean postponeViewUpdateIfNecessary(int viewUpdate, boolean useAnimations) {
+        VerticalStepperFormView form = step.getFormView();
+        if (form == null || !form.isBatchUpdateInProgressInternal()) {
+            return false;
+        }
+
+        if (postponedViewUpdates == 0) {
+            form.onStepViewUpdatesPostponedInternal(this);
+        }
+        postponedViewUpdates |= viewUpdate;
+        postponedViewUpdatesUseAnimations |= useAnimations;
+
+        return true;
+    }
+
     private void updateHeader(boolean useAnimations) {
 
         // Update alpha of header elements
@@ -337,11 +569,7 @@ class StepHelper implements Step.InternalFormStepListener {
             stepNumberBackgroundColor = formStyle.backgroundColorOfDisabledElements;
         }
 
-        Drawable circleDrawable = ContextCompat.getDrawable(stepNumberCircleView.getContext(),
-                R.drawable.circle_step_done);
-        circleDrawable.setColorFilter(
-                new PorterDuffColorFilter(stepNumberBackgroundColor, PorterDuff.Mode.SRC_IN));
-        stepNumberCircleView.setBackground(circleDrawable);
+        setStepNumberCircleColor(stepNumberBackgroundColor);
 
         // Update step position circle indicator layout
         if (step.isOpen() || !step.isCompleted()) {
@@ -355,6 +583,14 @@ class StepHelper implements Step.InternalFormStepListener {
         updateErrorMessageVisibility(useAnimations);
     }
 
+    private void setStepNumberCircleColor(int color) {
+        if (!stepNumberCircleColorSet || stepNumberCircleColor != color) {
+            stepNumberCircleColorSet = true;
+            stepNumberCircleColor = color;
+            stepNumberCircleDrawable.setColorFilter(formStyle.getColorFilter(color));
+        }
+    }
+
     private void showDoneIconAndHideStepNumber() {
         doneIconView.setVisibility(View.VISIBLE);
         stepNumberTextView.setVisibility(View.GONE);
@@ -366,11 +602,16 @@ class StepHelper implements Step.InternalFormStepListener {
     }
 
     void enableNextButton() {
+        if (step.getEntireStepLayout() == null) {
+            return;
+        }
+
         nextButtonView.setEnabled(true);
         nextButtonView.setAlpha(1f);
 
         if (formStyle.displayDifferentBackgroundColorOnDisabledElements) {
             UIHelper.setButtonColor(
+                    formStyle,
                     nextButtonView,
                     formStyle.nextButtonBackgroundColor,
                     formStyle.nextButtonTextColor,
@@ -380,11 +621,16 @@ class StepHelper implements Step.InternalFormStepListener {
     }
 
     void disableNextButton() {
+        if (step.getEntireStepLayout() == null) {
+            return;
+        }
+
         nextButtonView.setEnabled(false);
         nextButtonView.setAlpha(formStyle.alphaOfDisabledElements);
 
         if (formStyle.displayDifferentBackgroundColorOnDisabledElements) {
             UIHelper.setButtonColor(
+                    formStyle,
                     nextButtonView,
                     formStyle.backgroundColorOfDisabledElements,
                     formStyle.nextButtonTextColor,
@@ -394,11 +640,16 @@ class StepHelper implements Step.InternalFormStepListener {
     }
 
     void enableCancelButton() {
+        if (step.getEntireStepLayout() == null) {
+            return;
+        }
+
         cancelButtonView.setEnabled(true);
         cancelButtonView.setAlpha(1f);
 
         if (formStyle.displayDifferentBackgroundColorOnDisabledElements) {
             UIHelper.setButtonColor(
+                    formStyle,
                     cancelButtonView,
                     formStyle.lastStepCancelButtonBackgroundColor,
                     formStyle.lastStepCancelButtonTextColor,
@@ -408,11 +659,16 @@ class StepHelper implements Step.InternalFormStepListener {
     }
 
     void disableCancelButton() {
+        if (step.getEntireStepLayout() == null) {
+            return;
+        }
+
         cancelButtonView.setEnabled(false);
         cancelButtonView.setAlpha(formStyle.alphaOfDisabledElements);
 
         if (formStyle.displayDifferentBackgroundColorOnDisabledElements) {
             UIHelper.setButtonColor(
+                    formStyle,
                     cancelButtonView,
                     formStyle.backgroundColorOfDisabledElements,
                     formStyle.lastStepCancelButtonTextColor,
@@ -456,6 +712,7 @@ class StepHelper implements Step.InternalFormStepListener {
                 // We don't update the text view if the subtitle is empty; instead, we leave the last
                 // non-empty subtitle so the text view has text and can be seen while animating to hide
                 subtitleView.setText(subtitle);
+                SlideAnimationEngine.invalidateExpandedHeights(subtitleView);
             }
 
             return true;
@@ -471,6 +728,7 @@ class StepHelper implements Step.InternalFormStepListener {
         String buttonText = step.getNextButtonText();
         if (!buttonText.equals(previousValueAsString)) {
             nextButtonView.setText(buttonText);
+            SlideAnimationEngine.invalidateExpandedHeights(nextButtonView);
             return true;
         }
 
@@ -487,6 +745,7 @@ class StepHelper implements Step.InternalFormStepListener {
                 // We don't update the text view if the error message is empty; instead, we leave the last
                 // non-empty error message so the text view has text and can be seen while animating to hide
                 errorMessageView.setText(errorMessage);
+                SlideAnimationEngine.invalidateExpandedHeights(errorMessageView);
             }
 
             return true;
@@ -499,29 +758,59 @@ class StepHelper implements Step.InternalFormStepListener {
         boolean showSubtitle = !getActualSubtitleText().isEmpty()
                 && (step.isOpen() || step.isCompleted());
         if (showSubtitle) {
-            UIHelper.slideDownIfNecessary(subtitleView, useAnimations);
+            getSlideAnimationEngine().slideDownIfNecessary(subtitleView, useAnimations);
         } else {
-            UIHelper.slideUpIfNecessary(subtitleView, useAnimations);
+            getSlideAnimationEngine().slideUpIfNecessary(subtitleView, useAnimations);
         }
     }
 
     private void updateErrorMessageVisibility(boolean useAnimations) {
         if (step.isOpen() && !step.isCompleted() && !step.getErrorMessage().isEmpty()) {
-            UIHelper.slideDownIfNecessary(errorMessageContainerView, useAnimations);
+            getSlideAnimationEngine().slideDownIfNecessary(errorMessageContainerView, useAnimations);
         } else {
-            UIHelper.slideUpIfNecessary(errorMessageContainerView, useAnimations);
+            getSlideAnimationEngine().slideUpIfNecessary(errorMessageContainerView, useAnimations);
         }
     }
 
+    private SlideAnimationEngine getSlideAnimationEngine() {
+        return step.getFormView().getSlideAnimationEngine();
+    }
+
     private String getActualSubtitleText() {
-        String subtitle = formStyle.displayStepDataInSubtitleOfClosedSteps && !step.isOpen()
-                ? step.getStepDataAsHumanReadableString()
-                : step.getSubtitle();
-        subtitle = subtitle == null ? "" : subtitle;
+        boolean displayStepData = formStyle.displayStepDataInSubtitleOfClosedSteps && !step.isOpen();
+        if (displayStepData && !contentLayoutCreated) {
+            // The data of a step whose content hasn't been created yet is only needed if the step
+            // is completed, as otherwise the subtitle of the closed step won't be displayed at all
+            if (step.isCompleted()) {
+                createContentLayoutIfNecessary();
+            } else {
+                displayStepData = false;
+            }
+        }
+
+        String subtitle = displayStepData ? getStepDataSummary() : null;
+        subtitle = subtitle == null ? step.getSubtitle() : subtitle;
 
         return subtitle;
     }
 
+    private String getStepDataSummary() {
+        // The summary is only generated again once the step data has changed
+        int stepDataVersion = step.getStepDataVersionInternal();
+        if (stepDataSummary == null || stepDataSummaryVersion != stepDataVersion) {
+            String summary = step.getStepDataAsHumanReadableStringInternal();
+            if (summary == null) {
+                // The summary of a step whose data is still being produced isn't available yet
+                return null;
+            }
+
+            stepDataSummary = summary;
+            stepDataSummaryVersion = stepDataVersion;
+        }
+
+        return stepDataSummary;
+    }
+
     boolean isConfirmationStep() {
         return step instanceof ConfirmationStep;
     }
@@ -1,6 +1,7 @@
 package ernestoyaquello.com.verticalstepperform;
 
 import android.content.Context;
+import android.content.res.Resources;
 import android.content.res.TypedArray;
 import android.graphics.Rect;
 
@@ -9,45 +10,83 @@ import androidx.appcompat.widget.AppCompatImageButton;
 
 import android.graphics.Typeface;
 import android.os.Bundle;
+import android.os.Looper;
 import android.os.Parcelable;
 import android.util.AttributeSet;
+import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.View;
+import android.view.ViewGroup;
 import android.view.ViewTreeObserver;
 import android.widget.LinearLayout;
 import android.widget.ProgressBar;
 import android.widget.ScrollView;
 
+import java.io.File;
+import java.io.IOException;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
+import androidx.annotation.NonNull;
+import androidx.asynclayoutinflater.view.AsyncLayoutInflater;
 import androidx.core.content.ContextCompat;
 import androidx.core.content.res.ResourcesCompat;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.LinearSmoothScroller;
+import androidx.recyclerview.widget.RecyclerView;
 
+import ernestoyaquello.com.verticalstepperform.listener.FormMetricsListener;
 import ernestoyaquello.com.verticalstepperform.listener.StepperFormListener;
 
 /**
  * Custom layout that implements a vertical stepper form.
+ *
+ * As any other view, the form must only be used from the main thread. To operate on it from other
+ * threads (e.g., from a background data loader), use postCommand(), which will run the operations
+ * on the main thread in the order they were posted.
  */
 public class VerticalStepperFormView extends LinearLayout {
 
+    private static final String TAG = "VerticalStepperForm";
+
     FormStepListener internalListener;
     FormStyle style;
+    FormStateSnapshotStore stateSnapshotStore;
+    File autosaveJournalFile;
+    FormMetricsListener metricsListener;
 
     private StepperFormListener listener;
     private KeyboardTogglingObserver keyboardTogglingObserver;
     private List<StepHelper> stepHelpers;
+    private FormState formState;
+    private FormAutosaveJournal autosaveJournal;
+    private SlideAnimationEngine slideAnimationEngine;
+    private FormMetrics metrics;
+    private FormCommandQueue commandQueue;
+    private int batchUpdateDepth;
+    private List<StepHelper> stepHelpersWithPostponedUpdates;
+    private boolean formViewsUpdatePostponed;
+    private boolean scrollToOpenStepPostponed;
+    private boolean postponedScrollUsesAnimations;
+    private FormStateSnapshot lastStateSnapshot;
+    private BitSet stepsChangedSinceLastStateSnapshot;
     private boolean initialized;
 
     private LinearLayout formContentView;
     private ScrollView stepsScrollView;
+    private RecyclerView stepsRecyclerView;
+    private StepsAdapter stepsAdapter;
+    private View[] pendingStepLayouts;
+    private int numberOfAttachedStepLayouts;
     private ProgressBar progressBar;
     private AppCompatImageButton previousStepButton, nextStepButton;
     private View bottomNavigationView;
 
-    private boolean formCompleted;
     private boolean keyboardIsOpen;
 
     public VerticalStepperFormView(Context context) {
@@ -98,7 +137,7 @@ public class VerticalStepperFormView extends LinearLayout {
      * @param useAnimations True to animate the changes in the views, false to not.
      * @return True if the step was found and marked as completed; false otherwise.
      */
-    public synchronized boolean markOpenStepAsCompletedOrUncompleted(boolean useAnimations) {
+    public boolean markOpenStepAsCompletedOrUncompleted(boolean useAnimations) {
         return markStepAsCompletedOrUncompleted(getOpenStepPosition(), useAnimations);
     }
 
@@ -111,6 +150,7 @@ public class VerticalStepperFormView extends LinearLayout {
      * @return True if the step was found and marked as completed; false otherwise.
      */
     public boolean markStepAsCompletedOrUncompleted(int stepPosition, boolean useAnimations) {
+        checkMainThread();
         if (stepPosition >= 0 && stepPosition < stepHelpers.size()) {
             StepHelper stepHelper = stepHelpers.get(stepPosition);
             return stepHelper.getStepInstance().markAsCompletedOrUncompleted(useAnimations);
@@ -119,12 +159,50 @@ public class VerticalStepperFormView extends LinearLayout {
         return false;
     }
 
+    /**
+     * Sets the data of several steps at once (e.g., to prefill the form with data coming from a
+     * server), marking each one of them as completed or uncompleted depending on whether its new
+     * data is valid or not. No animations are used, and the views of the form are only updated
+     * once all the data has been set.
+     *
+     * Please note that, as it happens when a step is added, a step with invalid data will only be
+     * displayed in an error state once it has been opened.
+     *
+     * @param stepsData The data to set, indexed by the position of the step it belongs to. The type
+     *                  of each value must match the type of the data of its step.
+     * @return True if the data was set; false if any of the positions is not valid or if the form
+     * has already been completed, in which case no data is set.
+     */
+    public boolean setStepsData(final Map<Integer, Serializable> stepsData) {
+        checkMainThread();
+        if (formState.isFormCompleted()) {
+            return false;
+        }
+        for (Integer stepPosition : stepsData.keySet()) {
+            if (stepPosition == null || stepPosition < 0 || stepPosition >= stepHelpers.size()) {
+                return false;
+            }
+        }
+
+        batchUpdate(() -> {
+            for (Map.Entry<Integer, Serializable> stepData : stepsData.entrySet()) {
+                StepHelper stepHelper = stepHelpers.get(stepData.getKey());
+                Step<?> step = stepHelper.getStepInstance();
+
+                stepHelper.restoreStepData(stepData.getValue());
+                step.markAsCompletedOrUncompletedInternal(false, !step.isOpen());
+            }
+        });
+
+        return true;
+    }
+
     /**
      * Marks the currently open step as completed.
      *
      * @param useAnimations True to animate the changes in the views, false to not.
      */
-    public synchronized void markOpenStepAsCompleted(boolean useAnimations) {
+    public void markOpenStepAsCompleted(boolean useAnimations) {
         markStepAsCompleted(getOpenStepPosition(), useAnimations);
     }
 
@@ -135,6 +213,7 @@ public class VerticalStepperFormView extends LinearLayout {
      * @param useAnimations True to animate the changes in the views, false to not.
      */
     public void markStepAsCompleted(int stepPosition, boolean useAnimations) {
+        checkMainThread();
         if (stepPosition >= 0 && stepPosition < stepHelpers.size()) {
             StepHelper stepHelper = stepHelpers.get(stepPosition);
             stepHelper.getStepInstance().markAsCompleted(useAnimations);
@@ -147,7 +226,7 @@ public class VerticalStepperFormView extends LinearLayout {
      * @param errorMessage The error message.
      * @param useAnimations True to animate the changes in the views, false to not.
      */
-    public synchronized void markOpenStepAsUncompleted(boolean useAnimations, String errorMessage) {
+    public void markOpenStepAsUncompleted(boolean useAnimations, String errorMessage) {
         markStepAsUncompleted(getOpenStepPosition(), errorMessage, useAnimations);
     }
 
@@ -159,6 +238,7 @@ public class VerticalStepperFormView extends LinearLayout {
      * @param useAnimations True to animate the changes in the views, false to not.
      */
     public void markStepAsUncompleted(int stepPosition, String errorMessage, boolean useAnimations) {
+        checkMainThread();
         if (stepPosition >= 0 && stepPosition < stepHelpers.size()) {
             StepHelper stepHelper = stepHelpers.get(stepPosition);
             stepHelper.getStepInstance().markAsUncompleted(errorMessage, useAnimations);
@@ -170,7 +250,7 @@ public class VerticalStepperFormView extends LinearLayout {
      *
      * @return True if the open step is currently marked as completed; false otherwise.
      */
-    public synchronized boolean isOpenStepCompleted() {
+    public boolean isOpenStepCompleted() {
         return isStepCompleted(getOpenStepPosition());
     }
 
@@ -194,13 +274,7 @@ public class VerticalStepperFormView extends LinearLayout {
      * @return True if at least one step has been marked as completed; false otherwise.
      */
     public boolean isAnyStepCompleted() {
-        for (int i = 0; i < stepHelpers.size(); i++) {
-            if (stepHelpers.get(i).getStepInstance().isCompleted()) {
-                return true;
-            }
-        }
-
-        return false;
+        return formState.isAnyStepCompleted();
     }
 
     /**
@@ -210,12 +284,7 @@ public class VerticalStepperFormView extends LinearLayout {
      * @return True if all the steps previous to the specified one are marked as completed; false otherwise.
      */
     public boolean areAllPreviousStepsCompleted(int stepPosition) {
-        boolean previousStepsAreCompleted = true;
-        for (int i = stepPosition - 1; i >= 0; i--) {
-            previousStepsAreCompleted &= stepHelpers.get(i).getStepInstance().isCompleted();
-        }
-
-        return previousStepsAreCompleted;
+        return formState.areAllPreviousStepsCompleted(stepPosition);
     }
 
     /**
@@ -235,7 +304,7 @@ public class VerticalStepperFormView extends LinearLayout {
      * @return True if the form has been completed or cancelled; false otherwise.
      */
     public boolean isFormCompleted() {
-        return formCompleted;
+        return formState.isFormCompleted();
     }
 
     /**
@@ -248,7 +317,7 @@ public class VerticalStepperFormView extends LinearLayout {
      *                      animations.
      * @return True if the navigation to the step was performed; false otherwise.
      */
-    public synchronized boolean goToNextStep(boolean useAnimations) {
+    public boolean goToNextStep(boolean useAnimations) {
         return goToStep(getOpenStepPosition() + 1, useAnimations);
     }
 
@@ -262,7 +331,7 @@ public class VerticalStepperFormView extends LinearLayout {
      *                      animations.
      * @return True if the navigation to the step was performed; false otherwise.
      */
-    public synchronized boolean goToPreviousStep(boolean useAnimations) {
+    public boolean goToPreviousStep(boolean useAnimations) {
         return goToStep(getOpenStepPosition() - 1, useAnimations);
     }
 
@@ -280,19 +349,14 @@ public class VerticalStepperFormView extends LinearLayout {
      *                      animations.
      * @return True if the navigation to the step was performed; false otherwise.
      */
-    public synchronized boolean goToStep(int stepPosition, boolean useAnimations) {
-        if (formCompleted) {
-            return false;
-        }
-
-        int openStepPosition = getOpenStepPosition();
-        if (openStepPosition != stepPosition && stepPosition >= 0 && stepPosition <= stepHelpers.size()) {
-            boolean previousStepsAreCompleted = areAllPreviousStepsCompleted(stepPosition);
-            if ((style.allowNonLinearNavigation && stepPosition < stepHelpers.size()) || previousStepsAreCompleted) {
-                openStep(stepPosition, useAnimations);
-
-                return true;
-            }
+    public boolean goToStep(int stepPosition, boolean useAnimations) {
+        checkMainThread();
+        if (formState.canGoToStep(stepPosition)) {
+            long startTimeNanos = FormMetrics.beginSection(FormMetrics.SECTION_NAVIGATION);
+            openStep(stepPosition, useAnimations);
+            metrics.onNavigatedToStep(stepPosition, FormMetrics.endSection(startTimeNanos));
+
+            return true;
         }
 
         return false;
@@ -303,15 +367,8 @@ public class VerticalStepperFormView extends LinearLayout {
      *
      * @return The position of the currently open step, counting from 0. -1 if not found.
      */
-    public synchronized int getOpenStepPosition() {
-        for (int i = 0; i < stepHelpers.size(); i++) {
-            StepHelper stepHelper = stepHelpers.get(i);
-            if (stepHelper.getStepInstance().isOpen()) {
-                return i;
-            }
-        }
-
-        return -1;
+    public int getOpenStepPosition() {
+        return formState.getOpenStepPosition();
     }
 
     /**
@@ -319,7 +376,7 @@ public class VerticalStepperFormView extends LinearLayout {
      *
      * @return The currently open step, or null if not found.
      */
-    public synchronized Step<?> getOpenStep() {
+    public Step<?> getOpenStep() {
         StepHelper openStepHelper = getOpenStepHelper();
         return openStepHelper != null ? openStepHelper.getStepInstance() : null;
     }
@@ -360,10 +417,34 @@ public class VerticalStepperFormView extends LinearLayout {
      * @param smoothScroll Determines whether the scrolling should be smooth or abrupt.
      */
     public void scrollToStepIfNecessary(final int stepPosition, final boolean smoothScroll) {
-        if (stepPosition >= 0 && stepPosition < stepHelpers.size()) {
+        if (stepPosition >= 0 && stepPosition < stepHelpers.size() && style.virtualizeStepViews) {
+            stepsRecyclerView.post(() -> {
+                LinearLayoutManager layoutManager = (LinearLayoutManager) stepsRecyclerView.getLayoutManager();
+                View stepEntireLayout = layoutManager.findViewByPosition(stepPosition);
+                if (stepEntireLayout == null || stepEntireLayout.getTop() < stepsRecyclerView.getPaddingTop()) {
+                    if (smoothScroll) {
+                        LinearSmoothScroller smoothScroller = new LinearSmoothScroller(getContext()) {
+                            @Override
+                            protected int getVerticalSnapPreference() {
+                                return SNAP_TO_START;
+                            }
+                        };
+                        smoothScroller.setTargetPosition(stepPosition);
+                        layoutManager.startSmoothScroll(smoothScroller);
+                    } else {
+                        layoutManager.scrollToPositionWithOffset(stepPosition, 0);
+                    }
+                }
+            });
+        } else if (stepPosition >= 0 && stepPosition < stepHelpers.size()) {
             stepsScrollView.post(() -> {
                 Step<?> stepInstance = stepHelpers.get(stepPosition).getStepInstance();
                 View stepEntireLayout = stepInstance.getEntireStepLayout();
+                if (stepEntireLayout == null) {
+                    // The step layout hasn't been attached yet, so there is nothing to scroll to
+                    return;
+                }
+
                 View stepContentLayout = stepInstance.getContentLayout();
                 Rect scrollBounds = new Rect();
                 stepsScrollView.getDrawingRect(scrollBounds);
@@ -383,7 +464,7 @@ public class VerticalStepperFormView extends LinearLayout {
      *
      * @param smoothScroll Determines whether the scrolling should be smooth or abrupt.
      */
-    public synchronized void scrollToOpenStepIfNecessary(boolean smoothScroll) {
+    public void scrollToOpenStepIfNecessary(boolean smoothScroll) {
         scrollToStepIfNecessary(getOpenStepPosition(), smoothScroll);
     }
 
@@ -415,30 +496,58 @@ public class VerticalStepperFormView extends LinearLayout {
      * Useful when saving the form data fails and you want to allow the user to use the form again
      * in order to re-send the data.
      */
-    public synchronized void cancelFormCompletionOrCancellationAttempt() {
-        if (!formCompleted) {
-            return;
-        }
-
-        int openedStepPosition = getOpenStepPosition();
-        openedStepPosition = openedStepPosition == -1 ? stepHelpers.size() - 1 : openedStepPosition;
-        StepHelper stepHelper = stepHelpers.get(openedStepPosition);
+    public void cancelFormCompletionOrCancellationAttempt() {
+        checkMainThread();
+        formState.cancelFormCompletionOrCancellationAttempt();
+    }
 
-        if (style.closeLastStepOnCompletion) {
-            Step<?> step = stepHelper.getStepInstance();
-            if (!step.isOpen()) {
-                step.openInternal(true);
+    /**
+     * Runs the specified updates in a batch, so the views of the form are only updated once all of
+     * them have been performed instead of after each one of them. It is useful when updating many
+     * steps at once (e.g., when marking lots of steps as completed after importing their data).
+     *
+     * Please note that only the views are updated at the end of the batch; the state of the steps
+     * and of the form will be updated right away as usual. Batches can be nested, in which case the
+     * views will be updated at the end of the outermost one.
+     *
+     * @param updates The updates to run. They must be run on the main thread.
+     */
+    public void batchUpdate(Runnable updates) {
+        checkMainThread();
+        batchUpdateDepth++;
+        try {
+            updates.run();
+        } finally {
+            batchUpdateDepth--;
+            if (batchUpdateDepth == 0) {
+                applyPostponedUpdates();
             }
         }
+    }
 
-        if ((openedStepPosition + 1) < stepHelpers.size() || areAllStepsCompleted()) {
-            stepHelper.enableAllButtons();
-        } else {
-            stepHelper.enableCancelButton();
-        }
+    /**
+     * Posts a command to be executed on the form from the main thread. Unlike the rest of the
+     * methods of the form, this one can be called from any thread. The commands are executed in
+     * the same order in which they were posted, and all the commands that are pending at the same
+     * time are executed within a single batch update (see batchUpdate()).
+     *
+     * @param command The command to execute on the form.
+     */
+    public void postCommand(FormCommand command) {
+        commandQueue.post(command);
+    }
 
-        formCompleted = false;
-        updateBottomNavigationButtons();
+    /**
+     * Deletes the state of the form that has been saved in the autosave journal, if any, and stops
+     * saving it. It should be called once the data of the form has been processed (for example,
+     * after the form has been completed and its data sent), as otherwise the saved state would be
+     * restored the next time the form is set up.
+     */
+    public void clearAutosavedState() {
+        if (autosaveJournal != null) {
+            autosaveJournal.clear();
+            autosaveJournal = null;
+        }
     }
 
     /**
@@ -448,12 +557,7 @@ public class VerticalStepperFormView extends LinearLayout {
      * @return The number of steps that are currently marked as completed.
      */
     public int refreshFormProgress() {
-        int numberOfCompletedSteps = 0;
-        for (int i = 0; i < stepHelpers.size(); i++) {
-            if (stepHelpers.get(i).getStepInstance().isCompleted()) {
-                ++numberOfCompletedSteps;
-            }
-        }
+        int numberOfCompletedSteps = formState.getNumberOfCompletedSteps();
         setProgress(numberOfCompletedSteps);
 
         return numberOfCompletedSteps;
@@ -467,36 +571,29 @@ public class VerticalStepperFormView extends LinearLayout {
      * @return True if the step was added successfully; false otherwise.
      */
     public boolean addStep(int index, Step<?> stepToAdd) {
-        StepHelper lastStep = stepHelpers.get(stepHelpers.size() - 1);
-        int lastAllowedIndex = lastStep.isConfirmationStep() ? stepHelpers.size() - 1 : stepHelpers.size();
-        if (!initialized || formCompleted || index < 0 || index > lastAllowedIndex) {
+        if (!insertSteps(index, Collections.singletonList(stepToAdd))) {
             return false;
         }
 
-        StepHelper stepHelper = new StepHelper(internalListener, stepToAdd);
-        stepHelpers.add(index, stepHelper);
-        for (int i = 0; i < stepHelpers.size(); i++) {
-            if (i != index) {
-                StepHelper previouslyExistingStepHelper = stepHelpers.get(i);
-                previouslyExistingStepHelper.updateStepViewsAfterPositionChange(this);
-            }
-        }
-
-        View stepLayout = initializeStepHelper(index);
-        stepToAdd.markAsCompletedOrUncompletedInternal(false, true);
-
-        progressBar.setMax(stepHelpers.size());
-        refreshFormProgress();
-        updateBottomNavigationButtons();
-        enableOrDisableLastStepNextButton();
+        listener.onStepAdded(index, stepToAdd);
+        return true;
+    }
 
-        formContentView.addView(stepLayout, index);
-        int openStepPosition = getOpenStepPosition();
-        if (!style.allowNonLinearNavigation && !isStepCompleted(index) && index < openStepPosition) {
-            goToStep(index, true);
+    /**
+     * Adds several steps to the form, placing the first one in the specified position and the rest
+     * right after it, in the same order in which they appear in the list.
+     * The form will only be refreshed once after all the steps have been added.
+     *
+     * @param index The index where the first step will be added.
+     * @param stepsToAdd The steps to add.
+     * @return True if the steps were added successfully; false otherwise.
+     */
+    public boolean addSteps(int index, List<Step<?>> stepsToAdd) {
+        if (!insertSteps(index, stepsToAdd)) {
+            return false;
         }
 
-        listener.onStepAdded(index, stepToAdd);
+        listener.onStepsAdded(index, new ArrayList<>(stepsToAdd));
         return true;
     }
 
@@ -507,33 +604,28 @@ public class VerticalStepperFormView extends LinearLayout {
      * @return True if the step was deleted successfully; false otherwise.
      */
     public boolean removeStep(int index) {
-        int previousOpenStepPosition = getOpenStepPosition();
-
-        StepHelper lastStep = stepHelpers.get(stepHelpers.size() - 1);
-        int lastAllowedIndex = lastStep.isConfirmationStep() ? stepHelpers.size() - 2 : stepHelpers.size() - 1;
-        if (!initialized || formCompleted || index < 0 || index > lastAllowedIndex || stepHelpers.size() <= 1) {
+        if (!deleteSteps(index, index + 1)) {
             return false;
         }
 
-        stepHelpers.remove(index);
-        for (int i = 0; i < stepHelpers.size(); i++) {
-            StepHelper previouslyExistingStepHelper = stepHelpers.get(i);
-            previouslyExistingStepHelper.updateStepViewsAfterPositionChange(this);
-        }
-
-        progressBar.setMax(stepHelpers.size());
-        refreshFormProgress();
-        updateBottomNavigationButtons();
-        enableOrDisableLastStepNextButton();
+        listener.onStepRemoved(index);
+        return true;
+    }
 
-        formContentView.removeViewAt(index);
-        int openStepPosition = getOpenStepPosition();
-        if (previousOpenStepPosition != -1 && openStepPosition == -1) {
-            int stepToOpen = index > 0 ? index - 1 : 0;
-            goToStep(stepToOpen, true);
+    /**
+     * Removes the steps that are placed between the specified positions.
+     * The form will only be refreshed once after all the steps have been removed.
+     *
+     * @param fromIndex The index of the first step to delete (inclusive).
+     * @param toIndex The index of the last step to delete (exclusive).
+     * @return True if the steps were deleted successfully; false otherwise.
+     */
+    public boolean removeSteps(int fromIndex, int toIndex) {
+        if (!deleteSteps(fromIndex, toIndex)) {
+            return false;
         }
 
-        listener.onStepRemoved(index);
+        listener.onStepsRemoved(fromIndex, toIndex);
         return true;
     }
 
@@ -553,9 +645,10 @@ public class VerticalStepperFormView extends LinearLayout {
      * @return The position of the step, or -1 if the step is not found.
      */
     public int getStepPosition(Step<?> step) {
-        for (int i = 0; i < stepHelpers.size(); i++) {
-            if (stepHelpers.get(i).getStepInstance() == step)
-                return i;
+        int position = step.getPosition();
+        if (position >= 0 && position < stepHelpers.size()
+                && stepHelpers.get(position).getStepInstance() == step) {
+            return position;
         }
 
         return -1;
@@ -567,32 +660,48 @@ public class VerticalStepperFormView extends LinearLayout {
 
         keyboardTogglingObserver = new KeyboardTogglingObserver();
 
-        style = new FormStyle();
+        // The style is only read from the attributes if no other view has been constructed with them
+        FormStyle.AttributesKey styleKey = FormStyle.AttributesKey.create(
+                context, attrs, defStyleAttr, R.styleable.VerticalStepperFormView);
+        style = FormStyle.getStyleForAttributes(styleKey);
+        if (style == null) {
+            style = FormStyle.shareStyleForAttributes(styleKey, readStyle(context, attrs, defStyleAttr));
+        }
+
+        internalListener = new FormStepListener();
+        metrics = new FormMetrics(this);
+        slideAnimationEngine = new SlideAnimationEngine(metrics);
+        commandQueue = new FormCommandQueue(this);
+    }
+
+    private static FormStyle readStyle(Context context, AttributeSet attrs, int defStyleAttr) {
+        FormStyle.Builder style = new FormStyle.Builder();
+        Resources resources = context.getResources();
 
         // Set the default values for all the style properties
         style.stepNextButtonText =
-                getResources().getString(R.string.vertical_stepper_form_continue_button);
+                resources.getString(R.string.vertical_stepper_form_continue_button);
         style.lastStepNextButtonText =
-                getResources().getString(R.string.vertical_stepper_form_confirm_button);
+                resources.getString(R.string.vertical_stepper_form_confirm_button);
         style.lastStepCancelButtonText =
-                getResources().getString(R.string.vertical_stepper_form_cancel_button);
+                resources.getString(R.string.vertical_stepper_form_cancel_button);
         style.confirmationStepTitle =
-                getResources().getString(R.string.vertical_stepper_form_confirmation_step_title);
+                resources.getString(R.string.vertical_stepper_form_confirmation_step_title);
         style.confirmationStepSubtitle = "";
         style.leftCircleSizeInPx =
-                getResources().getDimensionPixelSize(R.dimen.vertical_stepper_form_width_circle);
+                resources.getDimensionPixelSize(R.dimen.vertical_stepper_form_width_circle);
         style.leftCircleTextSizeInPx =
-                getResources().getDimensionPixelSize(R.dimen.vertical_stepper_form_text_size_circle);
+                resources.getDimensionPixelSize(R.dimen.vertical_stepper_form_text_size_circle);
         style.stepTitleTextSizeInPx =
-                getResources().getDimensionPixelSize(R.dimen.vertical_stepper_form_text_size_title);
+                resources.getDimensionPixelSize(R.dimen.vertical_stepper_form_text_size_title);
         style.stepSubtitleTextSizeInPx =
-                getResources().getDimensionPixelSize(R.dimen.vertical_stepper_form_text_size_subtitle);
+                resources.getDimensionPixelSize(R.dimen.vertical_stepper_form_text_size_subtitle);
         style.stepErrorMessageTextSizeInPx =
-                getResources().getDimensionPixelSize(R.dimen.vertical_stepper_form_text_size_error_message);
+                resources.getDimensionPixelSize(R.dimen.vertical_stepper_form_text_size_error_message);
         style.leftVerticalLineThicknessSizeInPx =
-                getResources().getDimensionPixelSize(R.dimen.vertical_stepper_form_width_vertical_line);
+                resources.getDimensionPixelSize(R.dimen.vertical_stepper_form_width_vertical_line);
         style.marginFromStepNumbersToContentInPx =
-                getResources().getDimensionPixelSize(R.dimen.vertical_stepper_form_space_between_numbers_and_content);
+                resources.getDimensionPixelSize(R.dimen.vertical_stepper_form_space_between_numbers_and_content);
         style.backgroundColorOfDisabledElements =
                 ContextCompat.getColor(context, R.color.vertical_stepper_form_background_color_disabled_elements);
         style.stepNumberBackgroundColor =
@@ -637,6 +746,11 @@ public class VerticalStepperFormView extends LinearLayout {
         style.allowNonLinearNavigation = false;
         style.allowStepOpeningOnHeaderClick = true;
         style.closeLastStepOnCompletion = false;
+        style.virtualizeStepViews = false;
+        style.createStepContentOnFirstOpening = false;
+        style.inflateStepLayoutsAsynchronously = false;
+        style.stepDataValidationDelayInMs = 300;
+        style.maxStateSnapshotSizeInBundleInBytes = 256 * 1024;
         style.alphaOfDisabledElements = 0.3f;
         style.stepNumberFontFamily = Typeface.defaultFromStyle(defStyleAttr);
         style.stepTitleFontFamily = Typeface.defaultFromStyle(defStyleAttr);
@@ -774,6 +888,18 @@ public class VerticalStepperFormView extends LinearLayout {
             style.closeLastStepOnCompletion = vars.getBoolean(
                     R.styleable.VerticalStepperFormView_form_close_last_step_on_completion,
                     style.closeLastStepOnCompletion);
+            style.virtualizeStepViews = vars.getBoolean(
+                    R.styleable.VerticalStepperFormView_form_virtualize_step_views,
+                    style.virtualizeStepViews);
+            style.createStepContentOnFirstOpening = vars.getBoolean(
+                    R.styleable.VerticalStepperFormView_form_create_step_content_on_first_opening,
+                    style.createStepContentOnFirstOpening);
+            style.inflateStepLayoutsAsynchronously = vars.getBoolean(
+                    R.styleable.VerticalStepperFormView_form_inflate_step_layouts_asynchronously,
+                    style.inflateStepLayoutsAsynchronously);
+            style.stepDataValidationDelayInMs = vars.getInt(
+                    R.styleable.VerticalStepperFormView_form_step_data_validation_delay,
+                    style.stepDataValidationDelayInMs);
             style.alphaOfDisabledElements = vars.getFloat(
                     R.styleable.VerticalStepperFormView_form_alpha_of_disabled_elements,
                     style.alphaOfDisabledElements);
@@ -805,12 +931,22 @@ public class VerticalStepperFormView extends LinearLayout {
             vars.recycle();
         }
 
-        internalListener = new FormStepListener();
+        return style.build();
     }
 
     void initializeForm(StepperFormListener listener, StepHelper[] stepsArray) {
+        this.style = FormStyle.share(style);
         this.listener = listener;
         this.stepHelpers = new ArrayList<>(Arrays.asList(stepsArray));
+        this.formState = new FormState(stepHelpers.size(), style.allowNonLinearNavigation);
+        this.stepsChangedSinceLastStateSnapshot = new BitSet(stepHelpers.size());
+        updateStepPositions(0);
+        for (int i = 0; i < stepHelpers.size(); i++) {
+            Step<?> step = stepHelpers.get(i).getStepInstance();
+            formState.setStepCompleted(i, step.isCompleted());
+            formState.setStepError(i, step.hasError());
+        }
+        formState.setListener(new FormStateObserver());
 
         progressBar.setMax(stepHelpers.size());
 
@@ -819,24 +955,270 @@ public class VerticalStepperFormView extends LinearLayout {
             hideBottomNavigation();
         }
 
-        for (int i = 0; i < stepHelpers.size(); i++) {
-            View stepLayout = initializeStepHelper(i);
-            formContentView.addView(stepLayout);
+        if (style.virtualizeStepViews) {
+            for (int i = 0; i < stepHelpers.size(); i++) {
+                initializeStepHelper(i);
+            }
+
+            // The steps will be rendered through a recycler view, so only the views of the steps
+            // that are close to the visible area of the form will be created and bound
+            stepsAdapter = new StepsAdapter();
+            stepsRecyclerView.setLayoutManager(new LinearLayoutManager(getContext()));
+            stepsRecyclerView.setAdapter(stepsAdapter);
+            stepsScrollView.setVisibility(View.GONE);
+            stepsRecyclerView.setVisibility(View.VISIBLE);
+        } else if (style.inflateStepLayoutsAsynchronously) {
+            for (int i = 0; i < stepHelpers.size(); i++) {
+                stepHelpers.get(i).initializeWithoutViews(this);
+            }
+
+            goToStep(0, false);
+            inflateStepLayoutsAsynchronously();
+
+            // The form will be marked as initialized once all the step layouts have been attached
+            return;
+        } else {
+            for (int i = 0; i < stepHelpers.size(); i++) {
+                View stepLayout = initializeStepHelper(i);
+                formContentView.addView(stepLayout);
+            }
         }
 
         goToStep(0, false);
 
+        onFormInitialized();
+    }
+
+    private void onFormInitialized() {
+        if (autosaveJournalFile != null) {
+            autosaveJournal = new FormAutosaveJournal(autosaveJournalFile, this, stepHelpers);
+            FormStateSnapshot autosavedState = autosaveJournal.read();
+            if (autosavedState != null) {
+                restoreFromState(autosavedState);
+            }
+            autosaveJournal.start();
+        }
+
         initialized = true;
+
+        if (listener != null) {
+            listener.onFormInitialized();
+        }
+    }
+
+    private void inflateStepLayoutsAsynchronously() {
+        pendingStepLayouts = new View[stepHelpers.size()];
+        numberOfAttachedStepLayouts = 0;
+
+        // The layout of the first step is inflated right away so it can be displayed without delay
+        LayoutInflater inflater = LayoutInflater.from(getContext());
+        int firstStepLayoutResourceId = getStepLayoutResourceId(0, stepHelpers.size() == 1);
+        long startTimeNanos = FormMetrics.beginSection(FormMetrics.SECTION_STEP_LAYOUT_INFLATION);
+        View firstStepLayout = inflater.inflate(firstStepLayoutResourceId, formContentView, false);
+        metrics.onStepLayoutInflated(0, FormMetrics.endSection(startTimeNanos));
+        onStepLayoutInflated(0, firstStepLayout);
+
+        AsyncLayoutInflater asyncInflater = new AsyncLayoutInflater(getContext());
+        for (int i = 1; i < stepHelpers.size(); i++) {
+            final int position = i;
+            boolean isLast = (position + 1) == stepHelpers.size();
+            int stepLayoutResourceId = getStepLayoutResourceId(position, isLast);
+            asyncInflater.inflate(
+                    stepLayoutResourceId,
+                    formContentView,
+                    (stepLayout, resId, parent) -> onStepLayoutInflated(position, stepLayout));
+        }
+    }
+
+    private void onStepLayoutInflated(int position, View stepLayout) {
+        pendingStepLayouts[position] = stepLayout;
+
+        // The step layouts are attached progressively, always keeping the order of the steps
+        while (numberOfAttachedStepLayouts < pendingStepLayouts.length
+                && pendingStepLayouts[numberOfAttachedStepLayouts] != null) {
+
+            int stepPosition = numberOfAttachedStepLayouts;
+            StepHelper stepHelper = stepHelpers.get(stepPosition);
+            stepHelper.bindViews(this, pendingStepLayouts[stepPosition]);
+            formContentView.addView(pendingStepLayouts[stepPosition]);
+            applyFormStateToStepViews(stepHelper, stepPosition);
+
+            pendingStepLayouts[stepPosition] = null;
+            numberOfAttachedStepLayouts++;
+        }
+
+        if (numberOfAttachedStepLayouts == pendingStepLayouts.length) {
+            pendingStepLayouts = null;
+            onFormInitialized();
+        }
+    }
+
+    private void applyFormStateToStepViews(StepHelper stepHelper, int stepPosition) {
+        // The form-level state of the buttons has to be applied again to freshly bound step views
+        if ((stepPosition + 1) == stepHelpers.size()) {
+            enableOrDisableLastStepNextButton();
+        }
+        if (formState.isFormCompleted() && stepHelper == getOpenStepHelper()) {
+            stepHelper.disableAllButtons();
+        }
     }
 
     private View initializeStepHelper(int position) {
         StepHelper stepHelper = stepHelpers.get(position);
+        if (style.virtualizeStepViews) {
+            // In virtualized mode, the step views will be bound by the adapter once they are needed
+            stepHelper.initializeWithoutViews(this);
+            return null;
+        }
+
         boolean isLast = (position + 1) == stepHelpers.size();
         int stepLayoutResourceId = getStepLayoutResourceId(position, isLast);
 
         return stepHelper.initialize(this, formContentView, stepLayoutResourceId);
     }
 
+    private void updateStepPositions(int fromPosition) {
+        // The position of each step is stored in the step itself so it can be looked up in O(1);
+        // only the steps placed from the specified position onwards need to be renumbered
+        for (int i = fromPosition; i < stepHelpers.size(); i++) {
+            stepHelpers.get(i).getStepInstance().setPositionInternal(i);
+        }
+    }
+
+    private boolean insertSteps(int index, List<Step<?>> stepsToAdd) {
+        checkMainThread();
+        StepHelper lastStep = stepHelpers.get(stepHelpers.size() - 1);
+        int lastAllowedIndex = lastStep.isConfirmationStep() ? stepHelpers.size() - 1 : stepHelpers.size();
+        if (!initialized || formState.isFormCompleted() || index < 0 || index > lastAllowedIndex || stepsToAdd.isEmpty()) {
+            return false;
+        }
+
+        int numberOfStepsToAdd = stepsToAdd.size();
+        List<StepHelper> stepHelpersToAdd = new ArrayList<>(numberOfStepsToAdd);
+        for (Step<?> stepToAdd : stepsToAdd) {
+            stepHelpersToAdd.add(new StepHelper(internalListener, stepToAdd));
+        }
+        stepHelpers.addAll(index, stepHelpersToAdd);
+        updateStepPositions(index);
+        formState.insertSteps(index, numberOfStepsToAdd);
+        for (int i = index; i < index + numberOfStepsToAdd; i++) {
+            Step<?> addedStep = stepHelpers.get(i).getStepInstance();
+            formState.setStepCompleted(i, addedStep.isCompleted());
+            formState.setStepError(i, addedStep.hasError());
+        }
+
+        // Only the steps placed after the added ones have changed their position, so only their views
+        // need to be updated (plus the views of the previous last step in case it is no longer the last)
+        int endIndex = index + numberOfStepsToAdd;
+        if (endIndex == stepHelpers.size() && index > 0) {
+            stepHelpers.get(index - 1).updateStepViewsAfterPositionChange(this);
+        }
+        for (int i = endIndex; i < stepHelpers.size(); i++) {
+            stepHelpers.get(i).updateStepViewsAfterPositionChange(this);
+        }
+
+        List<View> stepLayouts = new ArrayList<>(numberOfStepsToAdd);
+        for (int i = index; i < endIndex; i++) {
+            View stepLayout = initializeStepHelper(i);
+            if (stepLayout != null) {
+                stepLayouts.add(stepLayout);
+            }
+            stepHelpers.get(i).getStepInstance().markAsCompletedOrUncompletedInternal(false, true);
+        }
+
+        progressBar.setMax(stepHelpers.size());
+        refreshFormProgress();
+        updateBottomNavigationButtons();
+        enableOrDisableLastStepNextButton();
+
+        if (autosaveJournal != null) {
+            // The positions of the steps have changed, so the journal needs a new full snapshot
+            autosaveJournal.requestCompaction();
+        }
+        lastStateSnapshot = null;
+
+        if (style.virtualizeStepViews) {
+            stepsAdapter.notifyItemRangeInserted(index, numberOfStepsToAdd);
+        } else {
+            for (int i = 0; i < stepLayouts.size(); i++) {
+                formContentView.addView(stepLayouts.get(i), index + i);
+            }
+        }
+
+        int firstUncompletedAddedStepPosition = index;
+        while (firstUncompletedAddedStepPosition < endIndex && isStepCompleted(firstUncompletedAddedStepPosition)) {
+            firstUncompletedAddedStepPosition++;
+        }
+        int openStepPosition = getOpenStepPosition();
+        if (!style.allowNonLinearNavigation
+                && firstUncompletedAddedStepPosition < endIndex
+                && firstUncompletedAddedStepPosition < openStepPosition) {
+            goToStep(firstUncompletedAddedStepPosition, true);
+        }
+
+        return true;
+    }
+
+    private boolean deleteSteps(int fromIndex, int toIndex) {
+        checkMainThread();
+        int previousOpenStepPosition = getOpenStepPosition();
+
+        StepHelper lastStep = stepHelpers.get(stepHelpers.size() - 1);
+        int lastAllowedIndex = lastStep.isConfirmationStep() ? stepHelpers.size() - 2 : stepHelpers.size() - 1;
+        int numberOfStepsToRemove = toIndex - fromIndex;
+        if (!initialized
+                || formState.isFormCompleted()
+                || fromIndex < 0
+                || numberOfStepsToRemove <= 0
+                || (toIndex - 1) > lastAllowedIndex
+                || (stepHelpers.size() - numberOfStepsToRemove) < 1) {
+            return false;
+        }
+
+        List<StepHelper> stepHelpersToRemove = stepHelpers.subList(fromIndex, toIndex);
+        for (StepHelper removedStepHelper : stepHelpersToRemove) {
+            Step<?> removedStep = removedStepHelper.getStepInstance();
+            removedStep.setPositionInternal(-1);
+            removedStep.onRemovedFromFormInternal(internalListener);
+        }
+        stepHelpersToRemove.clear();
+        updateStepPositions(fromIndex);
+        formState.removeSteps(fromIndex, toIndex);
+
+        // Only the steps placed after the removed ones have changed their position, so only their
+        // views need to be updated (plus the views of the new last step in case it wasn't the last)
+        if (fromIndex == stepHelpers.size() && fromIndex > 0) {
+            stepHelpers.get(fromIndex - 1).updateStepViewsAfterPositionChange(this);
+        }
+        for (int i = fromIndex; i < stepHelpers.size(); i++) {
+            stepHelpers.get(i).updateStepViewsAfterPositionChange(this);
+        }
+
+        progressBar.setMax(stepHelpers.size());
+        refreshFormProgress();
+        updateBottomNavigationButtons();
+        enableOrDisableLastStepNextButton();
+
+        if (autosaveJournal != null) {
+            // The positions of the steps have changed, so the journal needs a new full snapshot
+            autosaveJournal.requestCompaction();
+        }
+        lastStateSnapshot = null;
+
+        if (style.virtualizeStepViews) {
+            stepsAdapter.notifyItemRangeRemoved(fromIndex, numberOfStepsToRemove);
+        } else {
+            formContentView.removeViews(fromIndex, numberOfStepsToRemove);
+        }
+        int openStepPosition = getOpenStepPosition();
+        if (previousOpenStepPosition != -1 && openStepPosition == -1) {
+            int stepToOpen = fromIndex > 0 ? fromIndex - 1 : 0;
+            goToStep(stepToOpen, true);
+        }
+
+        return true;
+    }
+
     @LayoutRes
     protected int getStepLayoutResourceId(int position, boolean isLast) {
         // This could be overridden to use a custom step layout
@@ -844,17 +1226,100 @@ public class VerticalStepperFormView extends LinearLayout {
     }
 
     private StepHelper getOpenStepHelper() {
-        for (int i = 0; i < stepHelpers.size(); i++) {
-            StepHelper stepHelper = stepHelpers.get(i);
-            if (stepHelper.getStepInstance().isOpen()) {
-                return stepHelper;
+        int openStepPosition = formState.getOpenStepPosition();
+        return openStepPosition != -1 ? stepHelpers.get(openStepPosition) : null;
+    }
+
+    private void checkMainThread() {
+        if (Looper.myLooper() != Looper.getMainLooper()) {
+            throw new IllegalStateException(
+                    "The form can only be used from the main thread; use postCommand() from other threads");
+        }
+    }
+
+    boolean isBatchUpdateInProgressInternal() {
+        return batchUpdateDepth > 0;
+    }
+
+    void onStepViewUpdatesPostponedInternal(StepHelper stepHelper) {
+        if (stepHelpersWithPostponedUpdates == null) {
+            stepHelpersWithPostponedUpdates = new ArrayList<>();
+        }
+        stepHelpersWithPostponedUpdates.add(stepHelper);
+    }
+
+    private void applyPostponedUpdates() {
+        // The views of the steps are updated first, as the form views may override some of them
+        if (stepHelpersWithPostponedUpdates != null) {
+            for (int i = 0; i < stepHelpersWithPostponedUpdates.size(); i++) {
+                stepHelpersWithPostponedUpdates.get(i).applyPostponedViewUpdates();
             }
+            stepHelpersWithPostponedUpdates.clear();
         }
 
-        return null;
+        if (formViewsUpdatePostponed) {
+            formViewsUpdatePostponed = false;
+            updateBottomNavigationButtons();
+            refreshFormProgress();
+            enableOrDisableLastStepNextButton();
+        }
+
+        if (scrollToOpenStepPostponed) {
+            scrollToOpenStepPostponed = false;
+            scrollToOpenStepIfNecessary(postponedScrollUsesAnimations);
+            postponedScrollUsesAnimations = false;
+        }
     }
 
-    private synchronized void openStep(int stepToOpenPosition, boolean useAnimations) {
+    SlideAnimationEngine getSlideAnimationEngine() {
+        return slideAnimationEngine;
+    }
+
+    FormMetrics getMetrics() {
+        return metrics;
+    }
+
+    void createStepContentLayoutIfNecessaryInternal(Step<?> step) {
+        int stepPosition = getStepPosition(step);
+        if (stepPosition != -1) {
+            stepHelpers.get(stepPosition).createContentLayoutIfNecessary();
+            stepsChangedSinceLastStateSnapshot.set(stepPosition);
+        }
+    }
+
+    void onStepCompletionStateChangedInternal(Step<?> step) {
+        int stepPosition = getStepPosition(step);
+        if (stepPosition != -1) {
+            formState.setStepCompleted(stepPosition, step.isCompleted());
+        }
+    }
+
+    void onStepDataChangedInternal(Step<?> step) {
+        int stepPosition = getStepPosition(step);
+        if (stepPosition != -1) {
+            internalListener.recordStepChange(stepPosition);
+        }
+    }
+
+    void onStepErrorStateChangedInternal(Step<?> step) {
+        int stepPosition = getStepPosition(step);
+        if (stepPosition != -1) {
+            formState.setStepError(stepPosition, step.hasError());
+        }
+    }
+
+    void onStepVisibilityChangedInternal(Step<?> step) {
+        int stepPosition = getStepPosition(step);
+        if (stepPosition != -1) {
+            if (step.isOpen()) {
+                formState.openStep(stepPosition);
+            } else {
+                formState.closeStep(stepPosition);
+            }
+        }
+    }
+
+    private void openStep(int stepToOpenPosition, boolean useAnimations) {
         if (stepToOpenPosition >= 0 && stepToOpenPosition < stepHelpers.size()) {
 
             int stepToClosePosition = getOpenStepPosition();
@@ -870,20 +1335,16 @@ public class VerticalStepperFormView extends LinearLayout {
         }
     }
 
-    protected synchronized void updateBottomNavigationButtons() {
+    protected void updateBottomNavigationButtons() {
         int stepPosition = getOpenStepPosition();
         if (stepPosition >= 0 && stepPosition < stepHelpers.size()) {
-            StepHelper stepHelper = stepHelpers.get(stepPosition);
-
-            if (!formCompleted && stepPosition > 0) {
+            if (formState.canGoToPreviousStep()) {
                 enablePreviousButtonInBottomNavigation();
             } else {
                 disablePreviousButtonInBottomNavigation();
             }
 
-            if (!formCompleted
-                    && (stepPosition + 1) < stepHelpers.size()
-                    && (style.allowNonLinearNavigation || stepHelper.getStepInstance().isCompleted())) {
+            if (formState.canGoToNextStep()) {
                 enableNextButtonInBottomNavigation();
             } else {
                 disableNextButtonInBottomNavigation();
@@ -931,8 +1392,9 @@ public class VerticalStepperFormView extends LinearLayout {
         }
     }
 
-    private synchronized void attemptToCompleteForm(boolean isCancellation) {
-        if (formCompleted) {
+    private void attemptToCompleteForm(boolean isCancellation) {
+        checkMainThread();
+        if (formState.isFormCompleted()) {
             return;
         }
 
@@ -952,20 +1414,7 @@ public class VerticalStepperFormView extends LinearLayout {
             }
         }
 
-        int openStepPosition = getOpenStepPosition();
-        if (openStepPosition >= 0 && openStepPosition < stepHelpers.size() && (isCancellation || areAllStepsCompleted())) {
-            formCompleted = true;
-            stepHelpers.get(openStepPosition).disableAllButtons();
-            updateBottomNavigationButtons();
-
-            if (listener != null) {
-                if (!isCancellation) {
-                    listener.onCompletedForm();
-                } else {
-                    listener.onCancelledForm();
-                }
-            }
-        } else if (markedConfirmationStepAsCompleted) {
+        if (!formState.completeForm(isCancellation) && markedConfirmationStepAsCompleted) {
             // If the completion attempt fails, we restore the confirmation step to its previous state
             lastStep.markAsUncompleted(confirmationStepErrorMessage, true);
         }
@@ -986,6 +1435,7 @@ public class VerticalStepperFormView extends LinearLayout {
     private void findViews() {
         formContentView = findViewById(R.id.content);
         stepsScrollView = findViewById(R.id.steps_scroll);
+        stepsRecyclerView = findViewById(R.id.steps_recycler);
         progressBar = findViewById(R.id.progress_bar);
         previousStepButton = findViewById(R.id.down_previous);
         nextStepButton = findViewById(R.id.down_next);
@@ -999,9 +1449,30 @@ public class VerticalStepperFormView extends LinearLayout {
         addObserverForKeyboard();
     }
 
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+
+        // The background work that was interrupted when the form got detached is requested again
+        if (stepHelpers != null) {
+            for (StepHelper stepHelper : stepHelpers) {
+                stepHelper.getStepInstance().resumeBackgroundWorkInternal();
+            }
+        }
+    }
+
     @Override
     protected void onDetachedFromWindow() {
         removeObserverForKeyboard();
+        slideAnimationEngine.endAllAnimations();
+        if (stepHelpers != null) {
+            for (StepHelper stepHelper : stepHelpers) {
+                stepHelper.getStepInstance().interruptBackgroundWorkInternal();
+            }
+        }
+        if (autosaveJournal != null) {
+            autosaveJournal.close();
+        }
 
         super.onDetachedFromWindow();
     }
@@ -1028,41 +1499,23 @@ public class VerticalStepperFormView extends LinearLayout {
     public Parcelable onSaveInstanceState() {
         Bundle bundle = new Bundle();
 
-        Serializable[] stepsData = new Serializable[stepHelpers.size()];
-        boolean[] completedSteps = new boolean[stepHelpers.size()];
-        boolean[] errorSteps = new boolean[stepHelpers.size()];
-        String[] titles = new String[stepHelpers.size()];
-        String[] subtitles = new String[stepHelpers.size()];
-        String[] buttonTexts = new String[stepHelpers.size()];
-        String[] errorMessages = new String[stepHelpers.size()];
-        for (int i = 0; i < completedSteps.length; i++) {
-            StepHelper stepHelper = stepHelpers.get(i);
-            Step<?> step = stepHelper.getStepInstance();
-
-            stepsData[i] = step.getStepData();
-            completedSteps[i] = step.isCompleted();
-            errorSteps[i] = step.hasError();
-            titles[i] = step.getTitle();
-            subtitles[i] = step.getSubtitle();
-            buttonTexts[i] = step.getNextButtonText();
-            if (!step.isCompleted()) {
-                errorMessages[i] = step.getErrorMessage();
-            }
+        long startTimeNanos = FormMetrics.beginSection(FormMetrics.SECTION_STATE_SAVING);
+        byte[] stateSnapshot;
+        try {
+            stateSnapshot = updateStateSnapshot().toByteArray(StepHelper.getStepDataCodecs(stepHelpers));
+        } catch (IOException e) {
+            FormMetrics.endSection(startTimeNanos);
+            throw new IllegalStateException("Unable to save the state of the form", e);
         }
 
-        StepHelper openStepHelper = getOpenStepHelper();
-        int openStepPosition = stepHelpers.indexOf(openStepHelper);
-
         bundle.putParcelable("superState", super.onSaveInstanceState());
-        bundle.putInt("openStep", openStepPosition);
-        bundle.putSerializable("stepsData", stepsData);
-        bundle.putBooleanArray("completedSteps", completedSteps);
-        bundle.putBooleanArray("errorSteps", errorSteps);
-        bundle.putStringArray("titles", titles);
-        bundle.putStringArray("subtitles", subtitles);
-        bundle.putStringArray("buttonTexts", buttonTexts);
-        bundle.putStringArray("errorMessages", errorMessages);
-        bundle.putBoolean("formCompleted", formCompleted);
+        if (stateSnapshotStore != null && stateSnapshot.length > style.maxStateSnapshotSizeInBundleInBytes) {
+            // The snapshot is too big to be kept in the bundle, so we only keep a handle to it
+            bundle.putString("stateSnapshotHandle", stateSnapshotStore.store(stateSnapshot));
+        } else {
+            bundle.putByteArray("stateSnapshot", stateSnapshot);
+        }
+        metrics.onStateSaved(stateSnapshot.length, FormMetrics.endSection(startTimeNanos));
 
         return bundle;
     }
@@ -1072,63 +1525,84 @@ public class VerticalStepperFormView extends LinearLayout {
         if (state instanceof Bundle) {
             Bundle bundle = (Bundle) state;
 
-            boolean formCompleted = bundle.getBoolean("formCompleted");
-            String[] errorMessages = bundle.getStringArray("errorMessages");
-            String[] buttonTexts = bundle.getStringArray("buttonTexts");
-            String[] subtitles = bundle.getStringArray("subtitles");
-            String[] titles = bundle.getStringArray("titles");
-            boolean[] completedSteps = bundle.getBooleanArray("completedSteps");
-            boolean[] errorSteps = bundle.getBooleanArray("errorSteps");
-            int positionToOpen = bundle.getInt("openStep");
-            Serializable[] stepsData = (Serializable[])bundle.getSerializable("stepsData");
+            byte[] stateSnapshot = bundle.getByteArray("stateSnapshot");
+            String stateSnapshotHandle = bundle.getString("stateSnapshotHandle");
+            if (stateSnapshot == null && stateSnapshotHandle != null && stateSnapshotStore != null) {
+                stateSnapshot = stateSnapshotStore.retrieve(stateSnapshotHandle);
+            }
             state = bundle.getParcelable("superState");
 
-            restoreFromState(
-                    stepsData,
-                    positionToOpen,
-                    completedSteps,
-                    errorSteps,
-                    titles,
-                    subtitles,
-                    buttonTexts,
-                    errorMessages,
-                    formCompleted);
+            if (stateSnapshot != null) {
+                try {
+                    restoreFromState(FormStateSnapshot.fromByteArray(
+                            stateSnapshot, stepHelpers.size(), StepHelper.getStepDataCodecs(stepHelpers)));
+                } catch (FormStateSnapshot.StepCountMismatchException e) {
+                    // The snapshot belongs to a different form, so the form is left in its initial state
+                } catch (IOException e) {
+                    // The saved state is lost, so it is reported instead of being silently ignored
+                    Log.w(TAG, "The saved state of the form could not be restored", e);
+                    metrics.onStateRestorationFailed(e);
+                }
+            }
         }
 
         super.onRestoreInstanceState(state);
     }
 
-    private void restoreFromState(
-            Serializable[] stepsData,
-            int positionToOpen,
-            boolean[] completedSteps,
-            boolean[] errorSteps,
-            String[] titles,
-            String[] subtitles,
-            String[] buttonTexts,
-            String[] errorMessages,
-            boolean formCompleted) {
+    FormStateSnapshot updateStateSnapshot() {
+        int numberOfSteps = stepHelpers.size();
+        if (lastStateSnapshot == null || lastStateSnapshot.numberOfSteps != numberOfSteps) {
+            lastStateSnapshot = new FormStateSnapshot(numberOfSteps);
+            stepsChangedSinceLastStateSnapshot.set(0, numberOfSteps);
+        }
+
+        // Only the steps that have changed since the last snapshot need to be captured again. The
+        // open step is always captured, as its data can change without the form being notified
+        BitSet changedSteps = stepsChangedSinceLastStateSnapshot;
+        int openStepPosition = getOpenStepPosition();
+        if (openStepPosition >= 0 && openStepPosition < numberOfSteps) {
+            changedSteps.set(openStepPosition);
+        }
+        for (int i = changedSteps.nextSetBit(0); i >= 0 && i < numberOfSteps; i = changedSteps.nextSetBit(i + 1)) {
+            stepHelpers.get(i).captureState(lastStateSnapshot, i);
+        }
+        changedSteps.clear();
+        lastStateSnapshot.openStepPosition = openStepPosition;
+        lastStateSnapshot.formCompleted = formState.isFormCompleted();
+
+        return lastStateSnapshot;
+    }
 
-        for (int i = 0; i < completedSteps.length; i++) {
+    private void restoreFromState(FormStateSnapshot snapshot) {
+        for (int i = 0; i < snapshot.numberOfSteps; i++) {
             StepHelper stepHelper = stepHelpers.get(i);
             Step<?> step = stepHelper.getStepInstance();
 
-            step.restoreStepDataInternal(stepsData[i]);
-            step.restoreErrorStateInternal(errorSteps[i]);
-            step.updateTitle(titles[i], false);
-            step.updateSubtitle(subtitles[i], false);
-            step.updateNextButtonText(buttonTexts[i], false);
-            if (completedSteps[i]) {
+            if (snapshot.stepsWithData.get(i)) {
+                // Steps without data were never displayed, so their default data is kept as it is
+                stepHelper.restoreStepData(snapshot.stepsData[i]);
+            }
+            step.restoreErrorStateInternal(snapshot.errorSteps.get(i));
+            if (snapshot.titles[i] != null) {
+                step.updateTitle(snapshot.titles[i], false);
+            }
+            if (snapshot.subtitles[i] != null) {
+                step.updateSubtitle(snapshot.subtitles[i], false);
+            }
+            if (snapshot.buttonTexts[i] != null) {
+                step.updateNextButtonText(snapshot.buttonTexts[i], false);
+            }
+            if (snapshot.completedSteps.get(i)) {
                 step.markAsCompleted(false);
             } else {
-                step.markAsUncompleted(errorMessages[i], false);
+                step.markAsUncompleted(snapshot.errorMessages[i], false);
             }
         }
 
-        goToStep(positionToOpen, false);
+        goToStep(snapshot.openStepPosition, false);
 
-        if (formCompleted) {
-            this.formCompleted = true;
+        if (snapshot.formCompleted) {
+            formState.restoreFormCompleted(true);
             stepHelpers.get(getOpenStepPosition()).disableAllButtons();
             updateBottomNavigationButtons();
         }
@@ -1140,84 +1614,196 @@ public class VerticalStepperFormView extends LinearLayout {
 
         @Override
         public void onUpdatedTitle(int stepPosition, boolean useAnimations) {
-            // No need to do anything here
+            recordStepChange(stepPosition);
         }
 
         @Override
         public void onUpdatedSubtitle(int stepPosition, boolean useAnimations) {
-            // No need to do anything here
+            recordStepChange(stepPosition);
         }
 
         @Override
         public void onUpdatedButtonText(int stepPosition, boolean useAnimations) {
-            // No need to do anything here
+            recordStepChange(stepPosition);
         }
 
         @Override
         public void onUpdatedErrorMessage(int stepPosition, boolean useAnimations) {
-            // No need to do anything here
+            // The step data may have changed, as this gets called every time the data is validated
+            recordStepChange(stepPosition);
         }
 
         @Override
         public void onUpdatedStepCompletionState(int stepPosition, boolean useAnimations) {
-            updateBottomNavigationButtons();
-            refreshFormProgress();
+            recordStepChange(stepPosition);
+            if (batchUpdateDepth > 0) {
+                formViewsUpdatePostponed = true;
+                return;
+            }
+
+            // The bottom navigation and the progress are updated by the form state observer, but
+            // this button is updated here so it overrides the update done by the step helper
             enableOrDisableLastStepNextButton();
         }
 
         @Override
         public void onUpdatedStepVisibility(int stepPosition, boolean useAnimations) {
-            updateBottomNavigationButtons();
+            // The content of the step could have been created when opening it
+            if (stepPosition >= 0) {
+                stepsChangedSinceLastStateSnapshot.set(stepPosition);
+            }
+            if (autosaveJournal != null) {
+                autosaveJournal.onFormStateChanged();
+            }
+            if (batchUpdateDepth > 0) {
+                formViewsUpdatePostponed = true;
+                scrollToOpenStepPostponed = true;
+                postponedScrollUsesAnimations |= useAnimations;
+                return;
+            }
+
             scrollToOpenStepIfNecessary(useAnimations);
             enableOrDisableLastStepNextButton();
         }
+
+        void recordStepChange(int stepPosition) {
+            // Steps that have been removed from the form have no position, so they are ignored
+            if (stepPosition < 0) {
+                return;
+            }
+
+            stepsChangedSinceLastStateSnapshot.set(stepPosition);
+            if (autosaveJournal != null) {
+                autosaveJournal.onStepChanged(stepPosition);
+            }
+        }
+    }
+
+    private class FormStateObserver implements FormState.Listener {
+
+        @Override
+        public void onOpenStepChanged(int previousOpenStepPosition, int openStepPosition) {
+            updateNavigationAndProgress();
+        }
+
+        @Override
+        public void onStepCompletionStateChanged(int stepPosition, boolean completed) {
+            updateNavigationAndProgress();
+        }
+
+        @Override
+        public void onStepErrorStateChanged(int stepPosition, boolean hasError) {
+            // The error state of the step is part of the saved state of the form
+            internalListener.recordStepChange(stepPosition);
+        }
+
+        private void updateNavigationAndProgress() {
+            if (batchUpdateDepth > 0) {
+                formViewsUpdatePostponed = true;
+                return;
+            }
+
+            updateBottomNavigationButtons();
+            refreshFormProgress();
+        }
+
+        @Override
+        public void onFormCompleted(boolean cancelled) {
+            getOpenStepHelper().disableAllButtons();
+            updateBottomNavigationButtons();
+            if (autosaveJournal != null) {
+                autosaveJournal.onFormStateChanged();
+            }
+
+            if (listener != null) {
+                if (!cancelled) {
+                    listener.onCompletedForm();
+                } else {
+                    listener.onCancelledForm();
+                }
+            }
+        }
+
+        @Override
+        public void onFormCompletionOrCancellationAttemptCancelled() {
+            int openedStepPosition = getOpenStepPosition();
+            openedStepPosition = openedStepPosition == -1 ? stepHelpers.size() - 1 : openedStepPosition;
+            StepHelper stepHelper = stepHelpers.get(openedStepPosition);
+
+            if (style.closeLastStepOnCompletion) {
+                Step<?> step = stepHelper.getStepInstance();
+                if (!step.isOpen()) {
+                    step.openInternal(true);
+                }
+            }
+
+            if ((openedStepPosition + 1) < stepHelpers.size() || areAllStepsCompleted()) {
+                stepHelper.enableAllButtons();
+            } else {
+                stepHelper.enableCancelButton();
+            }
+
+            updateBottomNavigationButtons();
+            if (autosaveJournal != null) {
+                autosaveJournal.onFormStateChanged();
+            }
+        }
     }
 
-    class FormStyle {
-        String stepNextButtonText;
-        String lastStepNextButtonText;
-        String lastStepCancelButtonText;
-        String confirmationStepTitle;
-        String confirmationStepSubtitle;
-        int leftCircleSizeInPx;
-        int leftCircleTextSizeInPx;
-        int stepTitleTextSizeInPx;
-        int stepSubtitleTextSizeInPx;
-        int stepErrorMessageTextSizeInPx;
-        int leftVerticalLineThicknessSizeInPx;
-        int marginFromStepNumbersToContentInPx;
-        int backgroundColorOfDisabledElements;
-        int stepNumberBackgroundColor;
-        int stepNumberCompletedBackgroundColor;
-        int stepNumberErrorBackgroundColor;
-        int nextButtonBackgroundColor;
-        int nextButtonPressedBackgroundColor;
-        int lastStepCancelButtonBackgroundColor;
-        int lastStepCancelButtonPressedBackgroundColor;
-        int stepNumberTextColor;
-        int stepTitleTextColor;
-        int stepSubtitleTextColor;
-        int nextButtonTextColor;
-        int nextButtonPressedTextColor;
-        int lastStepCancelButtonTextColor;
-        int lastStepCancelButtonPressedTextColor;
-        int errorMessageTextColor;
-        int bottomNavigationBackgroundColor;
-        boolean displayBottomNavigation;
-        boolean displayStepButtons;
-        boolean displayCancelButtonInLastStep;
-        boolean displayNextButtonInLastStep;
-        boolean displayStepDataInSubtitleOfClosedSteps;
-        boolean displayDifferentBackgroundColorOnDisabledElements;
-        boolean includeConfirmationStep;
-        boolean allowNonLinearNavigation;
-        boolean allowStepOpeningOnHeaderClick;
-        boolean closeLastStepOnCompletion;
-        float alphaOfDisabledElements;
-        Typeface stepNumberFontFamily;
-        Typeface stepTitleFontFamily;
-        Typeface stepSubtitleFontFamily;
-        Typeface stepErrorMessageFontFamily;
+    private class StepsAdapter extends RecyclerView.Adapter<StepsAdapter.StepViewHolder> {
+
+        @Override
+        public int getItemCount() {
+            return stepHelpers.size();
+        }
+
+        @Override
+        public int getItemViewType(int position) {
+            boolean isLast = (position + 1) == stepHelpers.size();
+            return getStepLayoutResourceId(position, isLast);
+        }
+
+        @NonNull
+        @Override
+        public StepViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+            LayoutInflater inflater = LayoutInflater.from(parent.getContext());
+            long startTimeNanos = FormMetrics.beginSection(FormMetrics.SECTION_STEP_LAYOUT_INFLATION);
+            View stepLayout = inflater.inflate(viewType, parent, false);
+            metrics.onStepLayoutInflated(-1, FormMetrics.endSection(startTimeNanos));
+
+            return new StepViewHolder(stepLayout);
+        }
+
+        @Override
+        public void onBindViewHolder(@NonNull StepViewHolder holder, int position) {
+            StepHelper stepHelper = stepHelpers.get(position);
+            if (holder.boundStepHelper != null
+                    && holder.boundStepHelper != stepHelper
+                    && holder.boundStepHelper.isBoundTo(holder.itemView)) {
+                holder.boundStepHelper.unbindViews();
+            }
+
+            stepHelper.bindViews(VerticalStepperFormView.this, holder.itemView);
+            holder.boundStepHelper = stepHelper;
+            applyFormStateToStepViews(stepHelper, position);
+        }
+
+        @Override
+        public void onViewRecycled(@NonNull StepViewHolder holder) {
+            if (holder.boundStepHelper != null && holder.boundStepHelper.isBoundTo(holder.itemView)) {
+                holder.boundStepHelper.unbindViews();
+            }
+            holder.boundStepHelper = null;
+        }
+
+        class StepViewHolder extends RecyclerView.ViewHolder {
+
+            StepHelper boundStepHelper;
+
+            StepViewHolder(View stepLayout) {
+                super(stepLayout);
+            }
+        }
     }
 
     private class KeyboardTogglingObserver implements ViewTreeObserver.OnGlobalLayoutListener {
@@ -0,0 +1,92 @@
+package ernestoyaquello.com.verticalstepperform.listener;
+
+/**
+ * Receives measurements of the work done by the form, so it is possible to see where the time
+ * goes. All the methods are called from the main thread and do nothing by default, so only the
+ * ones of interest need to be overridden.
+ *
+ * Regardless of whether a listener has been set, the form also wraps the measured sections in
+ * trace sections (android.os.Trace), so they can be seen in system traces such as Perfetto ones.
+ */
+public interface FormMetricsListener {
+
+    /**
+     * It will get called after the layout of a step has been inflated on the main thread. Step
+     * layouts that are inflated in the background (see inflateStepLayoutsAsynchronously()) are
+     * not reported.
+     *
+     * @param stepPosition The position of the step, or -1 if the layout was inflated to be shared
+     *                     by several steps, as it happens when the steps are virtualized.
+     * @param durationNanos The time it took to inflate the layout, in nanoseconds.
+     */
+    default void onStepLayoutInflated(int stepPosition, long durationNanos) {
+        // No need to do anything here by default
+    }
+
+    /**
+     * It will get called after the content layout of a step has been created via the method
+     * createStepContentLayout() of the step.
+     *
+     * @param stepPosition The position of the step.
+     * @param durationNanos The time it took to create the content layout, in nanoseconds.
+     */
+    default void onStepContentLayoutCreated(int stepPosition, long durationNanos) {
+        // No need to do anything here by default
+    }
+
+    /**
+     * It will get called after the data of a step has been validated in order to mark the step as
+     * completed or uncompleted.
+     *
+     * @param stepPosition The position of the step.
+     * @param durationNanos The time it took to validate the data, in nanoseconds.
+     * @param asynchronous True if the data was validated in a background thread; false otherwise.
+     */
+    default void onStepDataValidated(int stepPosition, long durationNanos, boolean asynchronous) {
+        // No need to do anything here by default
+    }
+
+    /**
+     * It will get called once the running slide animations of the form have finished.
+     *
+     * @param frameCount The number of frames rendered while the animations were running.
+     * @param droppedFrameCount The number of frames that were expected to be rendered during the
+     *                          animations but were skipped because the main thread was busy.
+     */
+    default void onAnimationsFinished(int frameCount, int droppedFrameCount) {
+        // No need to do anything here by default
+    }
+
+    /**
+     * It will get called after the state of the form has been saved on onSaveInstanceState().
+     *
+     * @param sizeInBytes The size of the saved state of the form, in bytes.
+     * @param durationNanos The time it took to save the state, in nanoseconds.
+     */
+    default void onStateSaved(int sizeInBytes, long durationNanos) {
+        // No need to do anything here by default
+    }
+
+    /**
+     * It will get called when the saved state of the form cannot be restored on
+     * onRestoreInstanceState() (e.g., because the data of a step cannot be decoded), in which
+     * case the form is left in its initial state. States saved by a form with a different number
+     * of steps are not restored either, but they are not reported, as that is expected.
+     *
+     * @param exception The exception that prevented the state from being restored.
+     */
+    default void onStateRestorationFailed(Exception exception) {
+        // No need to do anything here by default
+    }
+
+    /**
+     * It will get called after the form has navigated to a step.
+     *
+     * @param stepPosition The position of the step that was opened.
+     * @param durationNanos The time it took to close the previous step and open the new one, in
+     *                      nanoseconds. It doesn't include the time taken by the animations.
+     */
+    default void onNavigatedToStep(int stepPosition, long durationNanos) {
+        // No need to do anything here by default
+    }
+}
@@ -1,5 +1,7 @@
 package ernestoyaquello.com.verticalstepperform.listener;
 
+import java.util.List;
+
 import ernestoyaquello.com.verticalstepperform.Step;
 
 public interface StepperFormListener {
@@ -38,4 +40,40 @@ public interface StepperFormListener {
      */
     void onStepRemoved(int index);
 
+    /**
+     * It will get called once the form has been initialized and all its steps can be interacted
+     * with. Unless the step layouts are inflated asynchronously, this will happen right after the
+     * form has been set up.
+     */
+    default void onFormInitialized() {
+        // No need to do anything here by default
+    }
+
+    /**
+     * It will get called when several steps are added dynamically via the method addSteps() of the
+     * form. By default, it will call onStepAdded() once per added step.
+     *
+     * @param index The index where the first step was added.
+     * @param addedSteps The steps that were added dynamically, in the order in which they were added.
+     */
+    default void onStepsAdded(int index, List<Step<?>> addedSteps) {
+        for (int i = 0; i < addedSteps.size(); i++) {
+            onStepAdded(index + i, addedSteps.get(i));
+        }
+    }
+
+    /**
+     * It will get called when several steps are removed dynamically via the method removeSteps() of
+     * the form. By default, it will call onStepRemoved() once per removed step, starting from the
+     * last one.
+     *
+     * @param fromIndex The index of the first step that was removed (inclusive).
+     * @param toIndex The index of the last step that was removed (exclusive).
+     */
+    default void onStepsRemoved(int fromIndex, int toIndex) {
+        for (int i = toIndex - 1; i >= fromIndex; i--) {
+            onStepRemoved(i);
+        }
+    }
+
 }
@@ -0,0 +1,208 @@
+package ernestoyaquello.com.verticalstepperform;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class FormStateTest {
+
+    @Test
+    public void canGoToStep_linearNavigation_onlyAllowsStepsAfterCompletedOnes() {
+        FormState state = new FormState(4, false);
+        state.openStep(0);
+
+        assertFalse(state.canGoToStep(0));
+        assertFalse(state.canGoToStep(1));
+
+        state.setStepCompleted(0, true);
+        assertTrue(state.canGoToStep(1));
+        assertFalse(state.canGoToStep(2));
+
+        state.setStepCompleted(1, true);
+        state.setStepCompleted(2, true);
+        assertTrue(state.canGoToStep(3));
+        assertFalse(state.canGoToStep(4));
+
+        state.setStepCompleted(3, true);
+        assertTrue(state.canGoToStep(4));
+    }
+
+    @Test
+    public void canGoToStep_nonLinearNavigation_allowsAnyStep() {
+        FormState state = new FormState(3, true);
+        state.openStep(0);
+
+        assertTrue(state.canGoToStep(1));
+        assertTrue(state.canGoToStep(2));
+        assertFalse(state.canGoToStep(3));
+        assertFalse(state.canGoToStep(-1));
+    }
+
+    @Test
+    public void canGoToStep_completedForm_doesNotAllowAnyStep() {
+        FormState state = new FormState(2, true);
+        state.openStep(1);
+        state.setStepCompleted(0, true);
+        state.setStepCompleted(1, true);
+
+        assertTrue(state.completeForm(false));
+        assertFalse(state.canGoToStep(0));
+        assertFalse(state.canGoToPreviousStep());
+        assertFalse(state.canGoToNextStep());
+    }
+
+    @Test
+    public void insertSteps_shiftsStatesOfFollowingSteps() {
+        FormState state = new FormState(3, false);
+        state.setStepCompleted(0, true);
+        state.setStepCompleted(2, true);
+        state.setStepError(1, true);
+        state.openStep(2);
+
+        state.insertSteps(1, 2);
+
+        assertEquals(5, state.getNumberOfSteps());
+        assertTrue(state.isStepCompleted(0));
+        assertFalse(state.isStepCompleted(1));
+        assertFalse(state.isStepCompleted(2));
+        assertFalse(state.hasStepError(1));
+        assertTrue(state.hasStepError(3));
+        assertTrue(state.isStepCompleted(4));
+        assertEquals(4, state.getOpenStepPosition());
+        assertEquals(2, state.getNumberOfCompletedSteps());
+    }
+
+    @Test
+    public void insertSteps_atTheEnd_keepsExistingStates() {
+        FormState state = new FormState(2, false);
+        state.setStepCompleted(0, true);
+        state.setStepCompleted(1, true);
+        state.openStep(1);
+
+        state.insertSteps(2, 1);
+
+        assertEquals(3, state.getNumberOfSteps());
+        assertTrue(state.isStepCompleted(1));
+        assertFalse(state.isStepCompleted(2));
+        assertFalse(state.areAllStepsCompleted());
+        assertEquals(1, state.getOpenStepPosition());
+    }
+
+    @Test
+    public void removeSteps_shiftsStatesOfFollowingSteps() {
+        FormState state = new FormState(5, false);
+        state.setStepCompleted(1, true);
+        state.setStepCompleted(3, true);
+        state.setStepError(4, true);
+        state.openStep(4);
+
+        state.removeSteps(1, 3);
+
+        assertEquals(3, state.getNumberOfSteps());
+        assertFalse(state.isStepCompleted(0));
+        assertTrue(state.isStepCompleted(1));
+        assertFalse(state.isStepCompleted(2));
+        assertTrue(state.hasStepError(2));
+        assertEquals(2, state.getOpenStepPosition());
+        assertEquals(1, state.getNumberOfCompletedSteps());
+    }
+
+    @Test
+    public void removeSteps_includingTheOpenStep_leavesNoOpenStep() {
+        FormState state = new FormState(3, false);
+        state.openStep(1);
+
+        state.removeSteps(1, 2);
+
+        assertEquals(2, state.getNumberOfSteps());
+        assertEquals(-1, state.getOpenStepPosition());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void removeSteps_outOfBounds_throws() {
+        new FormState(2, false).removeSteps(1, 3);
+    }
+
+    @Test
+    public void completeForm_requiresAllStepsCompletedUnlessCancelling() {
+        FormState state = new FormState(2, false);
+        assertFalse(state.completeForm(true));
+
+        state.openStep(1);
+        state.setStepCompleted(0, true);
+        assertFalse(state.completeForm(false));
+        assertFalse(state.isFormCompleted());
+
+        state.setStepCompleted(1, true);
+        assertTrue(state.completeForm(false));
+        assertTrue(state.isFormCompleted());
+        assertFalse(state.isFormCancelled());
+        assertFalse(state.completeForm(false));
+    }
+
+    @Test
+    public void completeForm_cancellation_canBeReverted() {
+        FormState state = new FormState(2, false);
+        state.openStep(0);
+
+        assertTrue(state.completeForm(true));
+        assertTrue(state.isFormCancelled());
+
+        assertTrue(state.cancelFormCompletionOrCancellationAttempt());
+        assertFalse(state.isFormCompleted());
+        assertFalse(state.isFormCancelled());
+        assertFalse(state.cancelFormCompletionOrCancellationAttempt());
+    }
+
+    @Test
+    public void listener_isOnlyNotifiedOfActualChanges() {
+        FormState state = new FormState(2, false);
+        RecordingListener listener = new RecordingListener();
+        state.setListener(listener);
+
+        state.openStep(0);
+        state.openStep(0);
+        state.setStepCompleted(0, true);
+        state.setStepCompleted(0, true);
+        state.setStepError(1, false);
+        state.closeStep(1);
+
+        assertEquals(1, listener.openStepChanges);
+        assertEquals(1, listener.completionStateChanges);
+        assertEquals(0, listener.errorStateChanges);
+    }
+
+    private static class RecordingListener implements FormState.Listener {
+
+        int openStepChanges;
+        int completionStateChanges;
+        int errorStateChanges;
+
+        @Override
+        public void onOpenStepChanged(int previousOpenStepPosition, int openStepPosition) {
+            openStepChanges++;
+        }
+
+        @Override
+        public void onStepCompletionStateChanged(int stepPosition, boolean completed) {
+            completionStateChanges++;
+        }
+
+        @Override
+        public void onStepErrorStateChanged(int stepPosition, boolean hasError) {
+            errorStateChanges++;
+        }
+
+        @Override
+        public void onFormCompleted(boolean cancelled) {
+            // No need to do anything here
+        }
+
+        @Override
+        public void onFormCompletionOrCancellationAttemptCancelled() {
+            // No need to do anything here
+        }
+    }
+}